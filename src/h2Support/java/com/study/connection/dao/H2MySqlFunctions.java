@@ -0,0 +1,36 @@
+package com.study.connection.dao;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+
+/**
+ * 매퍼(PostDAO.xml)에서 사용하는 MySQL 함수를 H2 에서 실행할 수 있도록 별칭(CREATE ALIAS)으로 등록하는 함수입니다.
+ * 별칭과 테이블은 h2/schema.sql 에서 생성합니다. (JMH 벤치마크, 부하 테스트에서 공통으로 사용)
+ * 매퍼가 사용하는 형식 지정자(%Y %m %d %H %i %s)만 지원합니다.
+ */
+public final class H2MySqlFunctions {
+
+    private H2MySqlFunctions() {
+    }
+
+    public static String dateFormat(Timestamp value, String format) {
+        return value == null ? null : new SimpleDateFormat(toJavaPattern(format)).format(value);
+    }
+
+    public static Timestamp strToDate(String value, String format) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new Timestamp(new SimpleDateFormat(toJavaPattern(format)).parse(value).getTime());
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    private static String toJavaPattern(String format) {
+        return format.replace("%Y", "yyyy").replace("%m", "MM").replace("%d", "dd")
+                .replace("%H", "HH").replace("%i", "mm").replace("%s", "ss");
+    }
+}
@@ -0,0 +1,68 @@
+-- H2(MySQL 호환 모드)용 게시판 스키마 (JMH 벤치마크, 부하 테스트 공용)
+-- 매퍼가 사용하는 MySQL 함수는 H2MySqlFunctions 의 별칭으로 대체
+CREATE ALIAS IF NOT EXISTS DATE_FORMAT FOR 'com.study.connection.dao.H2MySqlFunctions.dateFormat';
+CREATE ALIAS IF NOT EXISTS STR_TO_DATE FOR 'com.study.connection.dao.H2MySqlFunctions.strToDate';
+
+DROP TABLE IF EXISTS file_variant_skip;
+DROP TABLE IF EXISTS file_variant;
+DROP TABLE IF EXISTS file;
+DROP TABLE IF EXISTS post;
+DROP TABLE IF EXISTS category;
+
+CREATE TABLE category (
+    category_id   INT PRIMARY KEY,
+    category_name VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE post (
+    post_id          INT AUTO_INCREMENT PRIMARY KEY,
+    category_id      INT          NOT NULL,
+    title            VARCHAR(100) NOT NULL,
+    content          TEXT         NOT NULL,
+    writer           VARCHAR(20)  NOT NULL,
+    password         VARCHAR(100) NOT NULL,
+    views            INT          NOT NULL DEFAULT 0,
+    created_at       TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at       TIMESTAMP    NULL,
+    attachment_count INT          NOT NULL DEFAULT 0
+);
+CREATE INDEX idx_post_category ON post (category_id, post_id);
+CREATE INDEX idx_post_created_at ON post (created_at);
+
+CREATE TABLE file (
+    file_id      INT AUTO_INCREMENT PRIMARY KEY,
+    post_id      INT          NOT NULL,
+    file_name    VARCHAR(255) NOT NULL,
+    file_size    BIGINT       NOT NULL,
+    content_type VARCHAR(100) NULL,
+    file_path    VARCHAR(500) NOT NULL,
+    content_hash CHAR(64)     NULL
+);
+CREATE INDEX idx_file_post ON file (post_id);
+CREATE INDEX idx_file_content_hash ON file (content_hash);
+
+CREATE TABLE file_variant (
+    file_id      INT          NOT NULL,
+    variant      VARCHAR(20)  NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    width        INT          NOT NULL,
+    height       INT          NOT NULL,
+    file_size    BIGINT       NOT NULL,
+    file_path    VARCHAR(500) NOT NULL,
+    PRIMARY KEY (file_id, variant)
+);
+
+CREATE TABLE file_variant_skip (
+    file_id    INT       NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (file_id)
+);
+
+CREATE TABLE import_checkpoint (
+    source     VARCHAR(500) NOT NULL,
+    line_no    BIGINT       NOT NULL,
+    updated_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (source)
+);
+
+INSERT INTO category (category_id, category_name) VALUES (1, 'Java'), (2, 'Javascript'), (3, 'Database');
@@ -0,0 +1,46 @@
+package com.study.connection.controller;
+
+import com.study.connection.dto.filter.PostFilterDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록/상세 화면마다 실행되는 {@link PostController#filterQueryParams(PostFilterDTO)} 의 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FilterQueryParamsBenchmark {
+
+    private PostController postController;
+    private PostFilterDTO emptyFilter;
+    private PostFilterDTO fullFilter;
+
+    @Setup
+    public void setUp() {
+        postController = new PostController(null, null);
+        emptyFilter = new PostFilterDTO();
+        fullFilter = new PostFilterDTO();
+        fullFilter.setStartDate("2024-01-01");
+        fullFilter.setEndDate("2024-12-31");
+        fullFilter.setCategoryId(3);
+        fullFilter.setKeyword("스프링 부트");
+    }
+
+    @Benchmark
+    public String emptyFilter() {
+        return postController.filterQueryParams(emptyFilter);
+    }
+
+    @Benchmark
+    public String fullFilter() {
+        return postController.filterQueryParams(fullFilter);
+    }
+}
@@ -0,0 +1,92 @@
+package com.study.connection.dao;
+
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.post.PostListDTO;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실제 매퍼(mapper/PostDAO.xml)로 게시물 목록(PostListDTO)을 조회할 때의 MyBatis 결과 매핑 비용을 측정합니다.
+ * DB 는 MySQL 호환 모드의 메모리 H2 를 사용하므로, 측정값은 네트워크/디스크를 제외한 SQL 실행과 매핑 비용입니다.
+ * · listPage : 목록 화면 한 페이지 (10건)
+ * · byIds : 검색 색인 결과를 게시물 ID 로 조회 (rows 건)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostListMappingBenchmark {
+
+    private static final int SEED_POSTS = 10_000;
+
+    @Param({"10", "100", "1000"})
+    private int rows;
+
+    private SqlSessionFactory sqlSessionFactory;
+    private PostFilterDTO filter;
+    private List<Integer> postIds;
+
+    @Setup
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:jmh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:h2/schema.sql'");
+            statement.execute("INSERT INTO post (category_id, title, content, writer, password, views, created_at, attachment_count)"
+                    + " SELECT MOD(x, 3) + 1, CONCAT('게시물 제목 ', x), CONCAT('게시물 내용 ', x), CONCAT('작성자', MOD(x, 100)),"
+                    + " 'hash', MOD(x, 1000), DATEADD(MINUTE, x, TIMESTAMP '2024-01-01 00:00:00'), MOD(x, 2)"
+                    + " FROM SYSTEM_RANGE(1, " + SEED_POSTS + ")");
+        }
+
+        Configuration configuration = new Configuration(new Environment("jmh", new JdbcTransactionFactory(), dataSource));
+        // application.properties 의 mybatis.configuration-properties 대신 (H2 는 음수 fetchSize 를 허용하지 않음)
+        configuration.getVariables().setProperty("streamingFetchSize", "1000");
+        try (InputStream mapper = Resources.getResourceAsStream("mapper/PostDAO.xml")) {
+            new XMLMapperBuilder(mapper, configuration, "mapper/PostDAO.xml", configuration.getSqlFragments()).parse();
+        }
+        sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+
+        filter = new PostFilterDTO();
+        filter.setOffset(1, 10);
+        postIds = new ArrayList<>();
+        for (int postId = SEED_POSTS; postId > SEED_POSTS - rows; postId--) {
+            postIds.add(postId);
+        }
+    }
+
+    // 세션마다 1차 캐시가 있으므로, 매번 새 세션으로 조회해야 실제 매핑 비용이 측정됨
+    @Benchmark
+    public List<PostListDTO> listPage() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(PostDAO.class).getFilteredPosts(filter);
+        }
+    }
+
+    @Benchmark
+    public List<PostListDTO> byIds() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(PostDAO.class).getPostsByIds(postIds);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.study.connection.service;
+
+import com.study.connection.dto.filter.PageDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PostService#pagination(int, int)} 의 페이지 번호 계산 비용을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaginationBenchmark {
+
+    @Param({"0", "95", "1000000"})
+    private int totalPosts;
+
+    @Param({"1", "7", "10"})
+    private int currentPage;
+
+    private PostService postService;
+
+    @Setup
+    public void setUp() {
+        // pagination 은 의존 객체를 사용하지 않음
+        postService = new PostService(null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public PageDTO pagination() {
+        return postService.pagination(totalPosts, currentPage);
+    }
+}
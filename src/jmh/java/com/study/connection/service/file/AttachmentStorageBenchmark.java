@@ -0,0 +1,88 @@
+package com.study.connection.service.file;
+
+import com.study.connection.dto.file.StoredFileDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 첨부파일 저장 경로({@link AttachmentStorage#store(java.io.InputStream)})의 비용을 측정합니다.
+ * · storeNew : 매번 내용이 다른 파일 (임시 파일 쓰기 + SHA-256 + fsync + 원자적 이동)
+ * · storeDuplicate : 이미 저장된 파일과 내용이 같은 파일 (임시 파일 쓰기 + SHA-256 + fsync, 이동 없이 재사용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AttachmentStorageBenchmark {
+
+    @Param({"65536", "1048576"})
+    private int size;
+
+    private Path uploadDir;
+    private AttachmentStorage storage;
+    private byte[] content;
+    private long sequence;
+    private StoredFileDTO lastStored;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("jmh-upload-");
+        // store 는 DB 를 사용하지 않음 (release / sweepOrphans 에서만 사용)
+        storage = new AttachmentStorage(null, uploadDir.toString(), 60);
+        content = new byte[size];
+        new Random(42).nextBytes(content);
+    }
+
+    @Benchmark
+    public StoredFileDTO storeNew() throws IOException {
+        // 앞 8바이트를 바꿔 매번 다른 해시가 되도록 함
+        ByteBuffer.wrap(content).putLong(0, ++sequence);
+        lastStored = storage.store(new ByteArrayInputStream(content));
+        return lastStored;
+    }
+
+    @Benchmark
+    public StoredFileDTO storeDuplicate() throws IOException {
+        return storage.store(new ByteArrayInputStream(content));
+    }
+
+    // 측정 중 디스크 사용량이 계속 늘어나지 않도록 storeNew 로 만든 파일은 바로 삭제
+    @TearDown(Level.Invocation)
+    public void deleteStored() throws IOException {
+        if (lastStored != null && !lastStored.isDeduplicated()) {
+            Files.deleteIfExists(Paths.get(lastStored.getFilePath()));
+        }
+        lastStored = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(uploadDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.study.connection.service.password;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해시 비용(cost)별 BCrypt 검증 시간을 측정합니다.
+ * board.password.bcrypt-cost 를 올릴 때 {@link PasswordHasher} 스레드 풀이 처리할 수 있는 초당 검증 수를 가늠하는 데 사용합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BCryptBenchmark {
+
+    private static final String PASSWORD = "password1234!";
+
+    @Param({"4", "8", "10", "12"})
+    private int cost;
+
+    private String hashed;
+
+    @Setup
+    public void setUp() {
+        hashed = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(cost));
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return BCrypt.checkpw(PASSWORD, hashed);
+    }
+}
@@ -2,7 +2,9 @@ package com.study.connection;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+@EnableScheduling
 @SpringBootApplication
 public class ConnectionApplication {
 	public static void main(String[] args) throws Exception {
@@ -0,0 +1,99 @@
+package com.study.connection.config;
+
+import com.study.connection.datasource.ReadRoutingDataSource;
+import com.study.connection.datasource.ReplicaStatus;
+import com.study.connection.filter.PrimaryStickyFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 주 DB(spring.datasource)와 복제 DB(board.datasource.replica) 커넥션 풀을 구성합니다.
+ * · 복제 DB 주소가 없으면 모든 조회/쓰기가 주 DB 를 사용합니다.
+ * · 애플리케이션이 사용하는 DataSource 는 LazyConnectionDataSourceProxy 로 감싸, 쿼리를 실행할 때 커넥션을 얻습니다.
+ *   캐시에서 응답하는 읽기 전용 트랜잭션은 커넥션을 사용하지 않고, 복제 DB 여부는 트랜잭션 설정이 끝난 뒤에 결정됩니다.
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    private static final String REPLICA_URL = "board.datasource.replica.url";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+
+    /**
+     * 복제 DB 커넥션 풀입니다. 계정을 지정하지 않으면 주 DB 계정을 사용합니다.
+     * 복제 DB 가 내려가 있어도 애플리케이션은 시작되고, 복제 DB 를 사용할 수 없는 동안은 주 DB 로 조회합니다.
+     */
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${" + REPLICA_URL + "}") String url,
+                                              @Value("${board.datasource.replica.username:}") String username,
+                                              @Value("${board.datasource.replica.password:}") String password,
+                                              @Value("${board.datasource.replica.maximum-pool-size:20}") int maximumPoolSize,
+                                              @Value("${board.datasource.replica.connection-timeout-ms:1000}") long connectionTimeoutMs) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setConnectionTimeout(connectionTimeoutMs);
+        replica.setReadOnly(true);
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    public ReplicaStatus replicaStatus(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                       @Value("${board.datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+                                       @Value("${board.datasource.replica.require-replication:false}") boolean requireReplication) {
+        return new ReplicaStatus(replicaDataSource, Duration.ofSeconds(maxLagSeconds), requireReplication);
+    }
+
+
+    /**
+     * 글을 쓴 사용자의 이후 요청을 일정 시간 주 DB 로 보냅니다. (복제 DB 를 사용할 때만 등록)
+     */
+    @Bean
+    @ConditionalOnProperty(REPLICA_URL)
+    public PrimaryStickyFilter primaryStickyFilter(@Value("${board.datasource.sticky-seconds:10}") long stickySeconds) {
+        return new PrimaryStickyFilter(Duration.ofSeconds(stickySeconds));
+    }
+
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 ObjectProvider<ReplicaStatus> replicaStatus) {
+        DataSource replica = replicaDataSource.getIfAvailable();
+        if (replica == null) {
+            return new LazyConnectionDataSourceProxy(primaryDataSource);
+        }
+        return new LazyConnectionDataSourceProxy(
+                new ReadRoutingDataSource(primaryDataSource, replica, replicaStatus.getObject()));
+    }
+}
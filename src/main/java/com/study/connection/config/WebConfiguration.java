@@ -3,13 +3,49 @@ package com.study.connection.config;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.filter.HiddenHttpMethodFilter;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
 
 @Configuration
 @MapperScan("com.study.connection.dao")
-public class WebConfiguration {
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private static final String[] STATIC_DIRECTORIES = {"css", "img"};
+
     @Bean
     public HiddenHttpMethodFilter hiddenHttpMethodFilter() {
         return new HiddenHttpMethodFilter();
     }
+
+    /**
+     * 템플릿의 @{/css/...}, @{/img/...} 주소를 내용 해시가 포함된 주소(/css/common-{md5}.css)로 바꿔 줍니다.
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+
+    /**
+     * 정적 파일(css, img)은 주소에 내용 해시가 포함되므로, 내용이 바뀌면 주소도 바뀝니다.
+     * 따라서 1년 동안 재검증 없이 캐시(immutable)하도록 하여, 다시 방문할 때는 정적 파일 요청이 발생하지 않습니다.
+     * 빌드 시 미리 압축해 둔 파일(.gz, .br)이 있고 클라이언트가 지원하면 압축된 파일로 응답합니다.
+     */
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : STATIC_DIRECTORIES) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
 }
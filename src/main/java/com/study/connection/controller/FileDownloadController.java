@@ -2,59 +2,168 @@ package com.study.connection.controller;
 
 import com.study.connection.dao.PostDAO;
 import com.study.connection.dto.file.FileDownloadDTO;
+import com.study.connection.dto.file.FileMetadataDTO;
+import com.study.connection.dto.file.FileVariantDTO;
+import com.study.connection.service.PostService;
+import com.study.connection.service.file.AttachmentArchiver;
+import com.study.connection.service.image.ImageVariant;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
 
 @Slf4j
 @Controller
 public class FileDownloadController {
 
     private final PostDAO postDAO;
+    private final PostService postService;
+    private final AttachmentArchiver attachmentArchiver;
 
-    public FileDownloadController(PostDAO postDAO) {
+    public FileDownloadController(PostDAO postDAO, PostService postService, AttachmentArchiver attachmentArchiver) {
         this.postDAO = postDAO;
+        this.postService = postService;
+        this.attachmentArchiver = attachmentArchiver;
     }
 
+    /**
+     * 첨부파일을 다운로드합니다.
+     * 파일 내용을 메모리에 모두 읽지 않고 디스크에서 바로 응답으로 스트리밍하므로, 파일 크기와 관계없이 메모리 사용량이 일정합니다.
+     * · Range 요청을 지원하여 중단된 다운로드를 이어받을 수 있습니다. (206 Partial Content)
+     * · ETag / Last-Modified 를 함께 보내므로, 같은 파일을 다시 받을 때 변경이 없으면 304 Not Modified 를 응답합니다.
+     *
+     * @param fileId 다운로드할 파일 ID 입니다.
+     * @return 파일 리소스를 담은 응답, 파일 정보가 없거나 파일이 존재하지 않으면 404 를 반환합니다.
+     */
     @GetMapping("/download")
-    public ResponseEntity<byte[]> downloadFile(@RequestParam("seq") int fileId) {
+    public ResponseEntity<Resource> downloadFile(@RequestParam("seq") int fileId) {
 
         try {
             FileDownloadDTO dto = postDAO.getFileDownloadData(fileId);
-            File file = new File(dto.getFilePath());
+            if (dto == null) {
+                return ResponseEntity.notFound().build();
+            }
 
-            if (!file.exists()) {
-                throw new RuntimeException("File not found: " + dto.getFileName());
+            Path filePath = Paths.get(dto.getFilePath());
+            if (!Files.isRegularFile(filePath)) {
+                log.error("File not found: {}", dto.getFileName());
+                return ResponseEntity.notFound().build();
             }
 
-            byte[] fileBytes = Files.readAllBytes(file.toPath());
+            long fileSize = Files.size(filePath);
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
 
             // TODO 왜 파일이름을 인코딩해야하는지? 인코딩 안하면 어떻게 되는지?
             String encodedFileName = URLEncoder.encode(dto.getFileName(), "UTF-8").replace("+", "%20");
 
             // TODO 헤더에 왜 이 데이터들이 담겨야 하는지? 안담기면 어떻게 되는지?
+            // Content-Length 와 Range(206) 처리는 Resource 를 응답할 때 스프링이 처리함
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentLength(fileBytes.length);
             headers.setContentDispositionFormData("attachment", encodedFileName);
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            headers.setETag("\"" + fileId + "-" + fileSize + "-" + lastModified + "\"");
+            headers.setLastModified(lastModified);
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
 
-            return new ResponseEntity<>(fileBytes, headers, HttpStatus.OK);
+            return new ResponseEntity<>(new FileSystemResource(filePath), headers, HttpStatus.OK);
 
         } catch (IOException e) {
             log.error("Error occurred while downloading file", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+
+
+    /**
+     * 게시물의 첨부파일 전체를 하나의 ZIP 파일로 다운로드합니다.
+     * ZIP 은 미리 만들어 두지 않고 응답하면서 만들어 쓰므로, 첨부파일 수와 크기에 관계없이 메모리 사용량이 일정합니다.
+     * 응답 크기를 미리 알 수 없어 Content-Length 없이(chunked) 응답하며, Range 요청은 지원하지 않습니다.
+     *
+     * @param postId 게시물의 고유 ID 입니다.
+     * @param response 응답 본문에 ZIP 을 바로 씁니다. 첨부파일이 없으면 404 를 응답합니다.
+     */
+    @GetMapping("/download/all")
+    public void downloadAll(@RequestParam("postId") int postId, HttpServletResponse response) throws IOException {
+        List<Integer> fileIds = postService.getFileMeta(postId).stream().map(FileMetadataDTO::getFileId).toList();
+        List<FileDownloadDTO> files = fileIds.isEmpty() ? List.of()
+                : postDAO.getFileDownloadDataList(postId, fileIds).stream()
+                        .sorted(Comparator.comparingInt(FileDownloadDTO::getFileId))
+                        .toList();
+        if (files.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String fileName = "post-" + postId + "-attachments.zip";
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+
+        long start = System.currentTimeMillis();
+        try {
+            int written = attachmentArchiver.write(files, response.getOutputStream());
+            log.info("첨부파일 전체 다운로드 : 게시물 {} 파일 {}건, {}ms", postId, written, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            // 응답이 이미 시작되어 오류를 응답할 수 없음, 클라이언트가 연결을 끊은 경우가 대부분
+            log.info("첨부파일 전체 다운로드 중단 : 게시물 {}, {}ms ({})", postId, System.currentTimeMillis() - start, e.getMessage());
         }
     }
+
+
+
+    /**
+     * 이미지 첨부파일의 축소본(미리보기 thumb, 웹용 web)을 응답합니다.
+     * 첨부파일은 수정되지 않고(수정 시 새 파일 ID 로 저장) 축소본도 파일 ID 별로 한 번만 만들어지므로,
+     * 주소가 같으면 내용도 같습니다. 따라서 1년 동안 재검증 없이 캐시(immutable)하도록 합니다.
+     *
+     * @param fileId 원본 첨부파일 ID 입니다.
+     * @param variant 축소본 종류 (thumb, web) 입니다.
+     * @return 축소본 이미지, 축소본이 아직 없거나 파일이 존재하지 않으면 404 를 반환합니다.
+     */
+    @GetMapping("/download/variant/{fileId}/{variant}")
+    public ResponseEntity<Resource> downloadVariant(@PathVariable("fileId") int fileId,
+                                                    @PathVariable("variant") String variant) {
+        ImageVariant imageVariant = ImageVariant.of(variant);
+        if (imageVariant == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        FileVariantDTO dto = postDAO.getFileVariant(fileId, imageVariant.getName());
+        if (dto == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Path filePath = Paths.get(dto.getFilePath());
+        if (!Files.isRegularFile(filePath)) {
+            log.error("Variant not found: {}", dto.getFilePath());
+            return ResponseEntity.notFound().build();
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(dto.getContentType()));
+        headers.setETag("\"" + fileId + "-" + imageVariant.getName() + "-" + dto.getFileSize() + "\"");
+        headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+
+        return new ResponseEntity<>(new FileSystemResource(filePath), headers, HttpStatus.OK);
+    }
 }
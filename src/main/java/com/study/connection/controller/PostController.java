@@ -1,19 +1,25 @@
 package com.study.connection.controller;
 
 import com.study.connection.dto.file.DeleteFileIdDTO;
+import com.study.connection.dto.file.FileMetadataDTO;
+import com.study.connection.dto.filter.CategoryDTO;
 import com.study.connection.dto.filter.PageDTO;
 import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.post.PostArticleDTO;
 import com.study.connection.dto.post.PostDeleteDTO;
 import com.study.connection.dto.post.PostInsertDTO;
-import com.study.connection.dto.post.PostListDTO;
+import com.study.connection.dto.post.PostPageDTO;
 import com.study.connection.dto.post.PostUpdateDTO;
 import com.study.connection.service.PostService;
+import com.study.connection.service.concurrent.FanOutScope;
+import com.study.connection.service.concurrent.PageFanOut;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * 쭉
@@ -25,33 +31,41 @@ import java.util.List;
 public class PostController {
 
     private PostService postService;
+    private PageFanOut pageFanOut;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, PageFanOut pageFanOut) {
         this.postService = postService;
+        this.pageFanOut = pageFanOut;
     }
 
 
     /**
      * 페이지네이션을 적용한 게시물 목록을 반환합니다.
      * 검색 기능을 지원하며, 검색 파라미터가 주어지지 않으면 전체 게시물 목록을 반환합니다.
+     * 게시물 목록(전체 건수 포함)과 카테고리 목록은 동시에 조회합니다.
      *
      * @param model Spring MVC의 `Model` 객체로, 뷰에 전달할 데이터가 포함됩니다.
      * @param postFilterDTO 게시물 검색에 사용되는 조건을 포함하는 데이터 전송 객체입니다. 검색 조건이 없는 경우에도 필드에 기본값이 설정됩니다.
      * @param currentPage 현재 페이지 번호입니다. 요청 파라미터로 전달되며, 기본값은 1입니다.
+     * @param cursor 이전/다음 페이지 이동에 사용하는 커서입니다. 있으면 OFFSET 대신 커서(keyset) 방식으로 조회합니다.
      * @return 뷰의 경로와 이름을 문자열로 return 합니다.
      */
     @GetMapping("/posts")
     public String getPostList(Model model,
                               @ModelAttribute PostFilterDTO postFilterDTO,
-                              @RequestParam("page") int currentPage) {
-        // TODO : DTO 와 SETTER 관련해서 질문 필요, 기존 SETTER 활용? 새로 메서드 추가?
-        postFilterDTO.setOffset(currentPage, 10);
-        List<PostListDTO> postList = postService.getFilteredPosts(postFilterDTO);
-
-        PageDTO pageDTO = postService.pagination(postService.getAllPostsCount(postFilterDTO), currentPage);
-        model.addAttribute("page", pageDTO);
-        model.addAttribute("postList", postList);
-        model.addAttribute("categories", postService.getCategories());
+                              @RequestParam("page") int currentPage,
+                              @RequestParam(value = "cursor", required = false) String cursor) {
+        try (FanOutScope scope = pageFanOut.open()) {
+            Supplier<PostPageDTO> postPage = scope.fork(() -> postService.getPostPage(postFilterDTO, currentPage, cursor));
+            Supplier<List<CategoryDTO>> categories = scope.fork(postService::getCategories);
+            scope.join();
+
+            PageDTO pageDTO = postService.pagination(postPage.get().getTotalCount(), currentPage);
+            model.addAttribute("page", pageDTO);
+            model.addAttribute("postList", postPage.get().getPostList());
+            model.addAttribute("cursor", postService.createCursor(postPage.get().getPostList(), currentPage));
+            model.addAttribute("categories", categories.get());
+        }
         model.addAttribute("filter", postFilterDTO);
         model.addAttribute("parameter", filterQueryParams(postFilterDTO));
 
@@ -64,6 +78,7 @@ public class PostController {
      * 지정된 게시물 ID 에 대한 내용을 조회하여 반환합니다.
      * 첨부파일이 포함되어 있다면 파일정보(fileId, fileName) 을 같이 반환하며,
      * 첨부파일이 없다면 빈 목록을 반환합니다.
+     * 게시물 정보와 첨부파일 정보는 동시에 조회합니다.
      *
      * @param model Spring MVC의 `Model` 객체로, 뷰에 전달할 데이터가 포함됩니다.
      * @param postId 게시물의 고유 ID 입니다.
@@ -74,8 +89,14 @@ public class PostController {
                                  @PathVariable("postId") int postId,
                                  @RequestParam("page") int currentPage,
                                  @ModelAttribute PostFilterDTO postFilterDTO) {
-        model.addAttribute("post", postService.getPostDetails(postId));
-        model.addAttribute("files", postService.getFileMeta(postId));
+        try (FanOutScope scope = pageFanOut.open()) {
+            Supplier<PostArticleDTO> post = scope.fork(() -> postService.getPostDetails(postId));
+            Supplier<List<FileMetadataDTO>> files = scope.fork(() -> postService.getFileMeta(postId));
+            scope.join();
+
+            model.addAttribute("post", post.get());
+            model.addAttribute("files", files.get());
+        }
         // model.addAttribute("reply", postService.getReply(postId));
 
         model.addAttribute("parameter", filterQueryParams(postFilterDTO));
@@ -124,6 +145,7 @@ public class PostController {
     /**
      * 지정된 ID의 게시물을 수정할 수 있는 폼을 제공하는 뷰를 반환합니다.
      * 뷰(모델)에는 게시물 수정에 필요한 카테고리 목록과 기존 게시물 데이터(첨부파일 포함)가 포함됩니다.
+     * 세 가지 데이터는 동시에 조회합니다.
      *
      * @param model Spring MVC의 `Model` 객체로, 뷰에 전달할 데이터가 포함됩니다.
      * @param postId 게시물의 고유 ID 입니다.
@@ -133,9 +155,16 @@ public class PostController {
     @GetMapping("/edit-post")
     public String editPostForm(Model model, @RequestParam("postId") int postId) {
 
-        model.addAttribute("post", postService.getPostDetails(postId));
-        model.addAttribute("categories", postService.getCategories());
-        model.addAttribute("files", postService.getFileMeta(postId));
+        try (FanOutScope scope = pageFanOut.open()) {
+            Supplier<PostArticleDTO> post = scope.fork(() -> postService.getPostDetails(postId));
+            Supplier<List<CategoryDTO>> categories = scope.fork(postService::getCategories);
+            Supplier<List<FileMetadataDTO>> files = scope.fork(() -> postService.getFileMeta(postId));
+            scope.join();
+
+            model.addAttribute("post", post.get());
+            model.addAttribute("categories", categories.get());
+            model.addAttribute("files", files.get());
+        }
 
         return "views/post-edit-form";
 
@@ -180,7 +209,7 @@ public class PostController {
 */
 
     // TODO 검색필터 적용시 반드시 날짜데이터는 포함되므로 startDate 의 시작은 '&' 이 아니라 '?' → 과연 옳은 설계인가
-    private String filterQueryParams(PostFilterDTO postFilterDTO) {
+    String filterQueryParams(PostFilterDTO postFilterDTO) {
         StringBuilder queryParams = new StringBuilder();
         if (postFilterDTO.getStartDate() != null) {
             queryParams.append("?startDate=").append(postFilterDTO.getStartDate());
@@ -0,0 +1,88 @@
+package com.study.connection.controller;
+
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.service.export.ExportFormat;
+import com.study.connection.service.export.PostExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 검색 조건에 맞는 게시물 전체를 파일로 내려받습니다.
+ * 목록 화면(/posts)과 같은 검색 파라미터(startDate, endDate, categoryId, keyword)를 사용하며,
+ * 페이지마다 건수 조회와 OFFSET 스캔을 반복하지 않고 한 번의 조회로 모든 행을 보냅니다.
+ */
+@Slf4j
+@Controller
+public class PostExportController {
+
+    private final PostExportService postExportService;
+
+    public PostExportController(PostExportService postExportService) {
+        this.postExportService = postExportService;
+    }
+
+
+    /**
+     * 게시물을 CSV 또는 NDJSON 으로 응답 본문에 바로 씁니다.
+     * 요청 스레드(가상 스레드)에서 동기로 쓰므로 비동기 요청 시간 제한을 받지 않습니다.
+     * 동시에 실행 중인 내보내기가 제한(board.export.max-concurrent)에 도달했으면 429 로 응답합니다.
+     *
+     * @param postFilterDTO 목록 화면과 같은 검색 조건입니다.
+     * @param format csv(기본값) 또는 ndjson 입니다.
+     * @param gzip true 이면 gzip 으로 압축한 파일(.gz)로 응답합니다.
+     */
+    @GetMapping("/posts/export")
+    public void exportPosts(@ModelAttribute PostFilterDTO postFilterDTO,
+                            @RequestParam(value = "format", defaultValue = "csv") String format,
+                            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+                            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        if (exportFormat == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "지원하지 않는 형식입니다 : " + format);
+            return;
+        }
+
+        // 헤더를 쓰기 전에 확인해야 오류 응답이 첨부파일로 내려가지 않음
+        if (!postExportService.tryAcquire()) {
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "진행 중인 내보내기가 많습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        String fileName = "posts." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        long start = System.currentTimeMillis();
+        try {
+            long count;
+            if (gzip) {
+                try (GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+                    count = postExportService.export(postFilterDTO, exportFormat, out);
+                }
+            } else {
+                OutputStream out = response.getOutputStream();
+                count = postExportService.export(postFilterDTO, exportFormat, out);
+                out.flush();
+            }
+            log.info("게시물 내보내기 완료 : {} {}건, {}ms", fileName, count, System.currentTimeMillis() - start);
+
+        } catch (IOException e) {
+            // 응답이 이미 시작되어 오류 화면을 보낼 수 없음, 클라이언트가 연결을 끊은 경우가 대부분
+            log.info("게시물 내보내기 중단 : {}, {}ms ({})", fileName, System.currentTimeMillis() - start, e.getMessage());
+        } finally {
+            postExportService.release();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.study.connection.controller;
+
+import com.study.connection.dto.file.UploadSessionDTO;
+import com.study.connection.handler.exception.InvalidPasswordException;
+import com.study.connection.handler.exception.InvalidUploadException;
+import com.study.connection.handler.exception.PasswordHashRejectedException;
+import com.study.connection.handler.exception.PostNotFoundException;
+import com.study.connection.handler.exception.TooManyPasswordAttemptsException;
+import com.study.connection.handler.exception.UploadSessionNotFoundException;
+import com.study.connection.service.PostService;
+import com.study.connection.service.file.UploadSessionService;
+import com.study.connection.service.file.UploadSessionService.CompletedUpload;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * 큰 첨부파일의 조각(chunk) 업로드 API 입니다.
+ * 1. POST /uploads : 세션 생성 (파일명, 형식, 크기, 선택 : 파일 전체의 SHA-256) → 세션 ID, 조각 크기, 조각 수
+ * 2. PUT /uploads/{uploadId}/chunks/{index} : 조각 전송 (본문 = 조각 내용, X-Chunk-SHA256 = 조각의 SHA-256), 순서 무관/동시 전송 가능
+ * 3. GET /uploads/{uploadId} : 받은 조각 목록 (연결이 끊긴 뒤 재개할 때)
+ * 4. POST /uploads/{uploadId}/complete : 게시물 비밀번호 확인 후 파일을 저장하고 게시물에 첨부
+ * 5. DELETE /uploads/{uploadId} : 업로드 취소
+ */
+@RestController
+public class UploadSessionController {
+
+    static final String CHUNK_SHA256_HEADER = "X-Chunk-SHA256";
+
+    private final UploadSessionService uploadSessionService;
+    private final PostService postService;
+
+    public UploadSessionController(UploadSessionService uploadSessionService, PostService postService) {
+        this.uploadSessionService = uploadSessionService;
+        this.postService = postService;
+    }
+
+
+    @PostMapping("/uploads")
+    public ResponseEntity<UploadSessionDTO> createSession(@RequestParam("fileName") String fileName,
+                                                          @RequestParam("fileSize") long fileSize,
+                                                          @RequestParam(value = "contentType", required = false) String contentType,
+                                                          @RequestParam(value = "sha256", required = false) String sha256)
+            throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(uploadSessionService.create(fileName, contentType, fileSize, sha256));
+    }
+
+
+    @GetMapping("/uploads/{uploadId}")
+    public UploadSessionDTO getSession(@PathVariable("uploadId") String uploadId) {
+        return uploadSessionService.getStatus(uploadId);
+    }
+
+
+    /**
+     * 조각 하나를 받습니다. 요청 본문은 조각의 내용 그대로(application/octet-stream) 입니다.
+     */
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    public ResponseEntity<Void> putChunk(@PathVariable("uploadId") String uploadId,
+                                         @PathVariable("index") int index,
+                                         @RequestHeader(CHUNK_SHA256_HEADER) String sha256,
+                                         HttpServletRequest request) throws IOException {
+        try (InputStream in = request.getInputStream()) {
+            uploadSessionService.writeChunk(uploadId, index, sha256, in);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+
+    /**
+     * 업로드를 완료하고 게시물에 첨부합니다.
+     * 비밀번호를 먼저 확인하므로, 비밀번호가 틀려도 세션은 남아 다시 완료할 수 있습니다.
+     *
+     * @return 저장된 첨부파일 ID
+     */
+    @PostMapping("/uploads/{uploadId}/complete")
+    public Map<String, Integer> complete(@PathVariable("uploadId") String uploadId,
+                                         @RequestParam("postId") int postId,
+                                         @RequestParam("password") String password) throws IOException {
+        if (!postService.checkPassword(password, postId)) {
+            throw new InvalidPasswordException("비밀번호가 일치하지 않습니다.");
+        }
+        CompletedUpload upload = uploadSessionService.complete(uploadId);
+        int fileId = postService.attachUploadedFile(postId, upload.fileName(), upload.contentType(), upload.stored());
+        return Map.of("fileId", fileId);
+    }
+
+
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<Void> abort(@PathVariable("uploadId") String uploadId) throws IOException {
+        uploadSessionService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+
+    // API 응답이므로 오류 화면(views/error) 대신 메시지를 JSON 으로 응답
+    @ExceptionHandler(UploadSessionNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleNotFound(UploadSessionNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(PostNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handlePostNotFound(PostNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidUpload(InvalidUploadException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidPasswordException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPassword(InvalidPasswordException ex) {
+        return error(HttpStatus.FORBIDDEN, ex.getMessage());
+    }
+
+    @ExceptionHandler(TooManyPasswordAttemptsException.class)
+    public ResponseEntity<Map<String, String>> handleTooManyAttempts(TooManyPasswordAttemptsException ex) {
+        return error(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleHashRejected(PasswordHashRejectedException ex) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    private ResponseEntity<Map<String, String>> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of("message", message));
+    }
+}
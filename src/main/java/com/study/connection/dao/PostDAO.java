@@ -1,12 +1,19 @@
 package com.study.connection.dao;
 
 import com.study.connection.dto.file.*;
+import com.study.connection.dto.filter.CategoryCountDTO;
 import com.study.connection.dto.filter.CategoryDTO;
 import com.study.connection.dto.filter.PostFilterDTO;
 import com.study.connection.dto.post.PostArticleDTO;
+import com.study.connection.dto.post.PostImportDTO;
+import com.study.connection.dto.post.PostIndexDTO;
 import com.study.connection.dto.post.PostInsertDTO;
 import com.study.connection.dto.post.PostListDTO;
 import com.study.connection.dto.post.PostUpdateDTO;
+import com.study.connection.dto.post.ViewCountDTO;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.util.List;
 
@@ -21,18 +28,45 @@ public interface PostDAO {
    // 게시물 목록을 조회합니다. (게시물 p JOIN 카테고리 c, 파일 f)
    List<PostListDTO> getFilteredPosts(PostFilterDTO filterDTO);
 
+   // 게시물 ID 커서를 기준으로 게시물 목록을 조회합니다. (keyset 페이지네이션)
+   List<PostListDTO> getPostsByCursor(PostFilterDTO filterDTO);
+
+   // 게시물 ID 목록에 해당하는 게시물 목록을 조회합니다. (검색 색인 결과 조회)
+   List<PostListDTO> getPostsByIds(List<Integer> postIds);
+
+   // 검색 조건에 맞는 모든 게시물을 한 행씩 읽습니다. (내보내기, 트랜잭션 안에서 사용)
+   Cursor<PostListDTO> exportPosts(PostFilterDTO filterDTO);
+
+   // 검색 색인 생성을 위해 전체 게시물을 한 행씩 읽어 handler 에 전달합니다.
+   void scanPostsForIndex(ResultHandler<PostIndexDTO> handler);
+
+   // 등록/수정한 게시물 한 건을 검색 색인 형식으로 조회합니다.
+   PostIndexDTO getPostForIndex(int postId);
+
    // 게시물 전체 갯수를 조회합니다.
    int countAllPosts(PostFilterDTO filterDTO);
 
+   // 카테고리별 게시물 수를 조회합니다.
+   List<CategoryCountDTO> countPostsByCategory();
+
+   // 게시물 ID를 조건으로 게시물의 카테고리 ID를 조회합니다.
+   Integer getPostCategoryId(int postId);
+
    // 게시물 ID를 조건으로 게시물 세부 내용을 조회합니다.
    PostArticleDTO getPostDetails(int postId);
 
    // 게시물 테이블(post)에 데이터를 저장합니다.
    void insertPost(PostInsertDTO postInsertDTO);
 
+   // 여러 게시물을 한 번의 INSERT 로 게시물 테이블(post)에 저장합니다. (일괄 가져오기)
+   void insertPostBatch(List<PostImportDTO> postImportDTOs);
+
    // 첨부파일의 메타데이터를 파일 테이블(file)에 저장합니다.
    void insertFileMeta(FileMetaInsertDTO fileMetaInsertDTO);
 
+   // 여러 첨부파일의 메타데이터를 한 번의 INSERT 로 파일 테이블(file)에 저장합니다.
+   void insertFileMetaBatch(List<FileMetaInsertDTO> fileMetaInsertDTOs);
+
    // 게시물 ID를 조건으로 존재하는 파일의 메타데이터를 조회합니다.
    List<FileMetadataDTO> getFileMeta(int postId);
 
@@ -42,18 +76,55 @@ public interface PostDAO {
    // 파일 ID를 조건으로 다운로드를 위한 데이터를 조회합니다.
    FileDownloadDTO getFileDownloadData(int fileId);
 
-   // 게시물 ID를 조건으로 해당 게시물을 조회수(views)에 1을 더합니다.
-   void addViews(int postId);
+   // 게시물 ID와 파일 ID 목록을 조건으로 파일 데이터를 한 번에 조회합니다.
+   List<FileDownloadDTO> getFileDownloadDataList(@Param("postId") int postId, @Param("fileIds") List<Integer> fileIds);
+
+   // 이미지 첨부파일의 축소본 정보를 한 번의 INSERT 로 저장합니다.
+   void insertFileVariants(List<FileVariantDTO> fileVariants);
+
+   // 축소본을 만들 수 없는 이미지 첨부파일을 기록합니다.
+   void insertFileVariantSkip(int fileId);
+
+   // 파일 ID와 축소본 종류(thumb, web)를 조건으로 축소본 정보를 조회합니다.
+   FileVariantDTO getFileVariant(@Param("fileId") int fileId, @Param("variant") String variant);
+
+   // 축소본이 없는 이미지 첨부파일을 파일 ID 순으로 조회합니다.
+   List<ImageSourceDTO> getImageSourcesWithoutVariant(@Param("afterFileId") int afterFileId, @Param("limit") int limit);
+
+   // 같은 내용(content_hash)의 파일을 참조하는 메타데이터 수를 조회합니다.
+   int countFilesByHash(String contentHash);
+
+   // 게시물별 조회수 증가분을 한 번의 UPDATE 로 반영합니다.
+   void addViewsBatch(List<ViewCountDTO> viewCounts);
 
    // 게시물 ID를 조건으로 게시물의 비밀번호를 조회합니다.
    String getPostPassword(int postId);
 
+   // 저장된 비밀번호 해시가 그대로일 때만 새 해시로 교체합니다. (해시 비용 상향)
+   int updatePostPassword(@Param("postId") int postId, @Param("oldPassword") String oldPassword,
+                          @Param("newPassword") String newPassword);
+
    // 게시물 ID를 조건으로 게시물 테이블(post)에 수정된 데이터를 저장하고, 수정일자(updated_at)를 갱신합니다.
    void updatePost(PostUpdateDTO postUpdateDTO);
 
    // 게시물 ID를 조건으로 데이터를 삭제합니다.
    void deletePost(int postId);
 
-   // 파일 ID와 게시물 ID를 조건으로 데이터를 삭제합니다.
-   void deleteFile(FileMetaDeleteDTO fileMetaDeleteDTO);
+   // 게시물 ID와 파일 ID 목록을 조건으로 데이터를 한 번에 삭제합니다. (삭제된 행 수 반환)
+   int deleteFiles(@Param("postId") int postId, @Param("fileIds") List<Integer> fileIds);
+
+   // 게시물의 첨부파일 수(attachment_count)에 delta 를 더합니다.
+   void addAttachmentCount(@Param("postId") int postId, @Param("delta") int delta);
+
+   // 첨부파일 수(attachment_count)가 file 테이블과 일치하지 않는 게시물을 조회합니다.
+   List<AttachmentCountDTO> findAttachmentCountMismatches();
+
+   // 게시물 ID 목록의 첨부파일 수(attachment_count)를 file 테이블 기준으로 다시 계산합니다.
+   void repairAttachmentCounts(List<Integer> postIds);
+
+   // 일괄 가져오기 파일의 반영이 끝난 마지막 줄 번호를 조회합니다.
+   Long getImportCheckpoint(String source);
+
+   // 일괄 가져오기 파일의 반영이 끝난 마지막 줄 번호를 저장합니다.
+   void saveImportCheckpoint(@Param("source") String source, @Param("lineNo") long lineNo);
 }
\ No newline at end of file
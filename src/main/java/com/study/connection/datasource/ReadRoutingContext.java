@@ -0,0 +1,57 @@
+package com.study.connection.datasource;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 현재 요청의 조회를 복제 DB 대신 주 DB 로 보내야 하는지를 스레드별로 기록합니다.
+ * 글을 쓴 사용자가 바로 다음 화면에서 자신이 쓴 내용을 볼 수 있도록(read-your-writes),
+ * {@link com.study.connection.filter.PrimaryStickyFilter} 가 요청 시작 시 설정하고 요청이 끝나면 지웁니다.
+ * · 다른 스레드에서 실행하는 작업에는 {@link #propagate(Callable)} 로 전달합니다.
+ *   FanOutScope 의 작업은 PageFanOut 의 작업 스레드(크기가 제한된 플랫폼 스레드 풀, 재사용됨)에서 실행되고,
+ *   작업 스레드가 모두 사용 중이면 요청 스레드에서 그대로 실행되므로, 작업이 끝나면 실행한 스레드의 원래 상태로 되돌립니다.
+ */
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+
+    public static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+
+    public static void setPrimaryOnly() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+
+    public static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+
+
+    /**
+     * 현재 스레드의 상태를 작업을 실행하는 스레드에 전달합니다.
+     * 주 DB 고정 상태가 아니면 작업을 그대로 반환합니다.
+     * 작업이 끝나면 실행한 스레드의 원래 상태로 되돌립니다. (요청 스레드에서 그대로 실행되는 경우 포함)
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        if (!isPrimaryOnly()) {
+            return task;
+        }
+        return () -> {
+            boolean previous = isPrimaryOnly();
+            setPrimaryOnly();
+            try {
+                return task.call();
+            } finally {
+                if (!previous) {
+                    clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.study.connection.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))의 조회는 복제 DB 로, 그 외에는 주 DB 로 보내는 DataSource 입니다.
+ * 트랜잭션의 읽기 전용 여부는 커넥션을 실제로 얻을 때 확인하므로, LazyConnectionDataSourceProxy 로 감싸서 사용해야 합니다.
+ * · 주 DB 고정 요청({@link ReadRoutingContext})이거나 복제 DB 를 사용할 수 없으면({@link ReplicaStatus}) 주 DB 를 사용합니다.
+ * · 복제 DB 커넥션을 얻지 못하면 복제 DB 를 사용 중지로 표시하고 주 DB 커넥션을 반환합니다.
+ */
+public class ReadRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaStatus replicaStatus;
+
+    public ReadRoutingDataSource(DataSource primary, DataSource replica, ReplicaStatus replicaStatus) {
+        this.replicaStatus = replicaStatus;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadRoutingContext.isPrimaryOnly()
+                && replicaStatus.isUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        DataSource primary = getResolvedDefaultDataSource();
+        if (target == primary) {
+            return target.getConnection();
+        }
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            replicaStatus.markUnavailable(e.getLocalizedMessage());
+            return primary.getConnection();
+        }
+    }
+}
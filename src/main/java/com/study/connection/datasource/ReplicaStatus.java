@@ -0,0 +1,103 @@
+package com.study.connection.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * 복제 DB 로 조회를 보내도 되는지 판단합니다.
+ * · 주기적으로 복제 DB 에 접속하여 SHOW REPLICA STATUS 의 복제 지연(Seconds_Behind_Source)을 확인하고,
+ *   접속할 수 없거나, 복제가 멈췄거나, 지연이 board.datasource.replica.max-lag-seconds 를 넘으면 사용하지 않습니다.
+ * · 복제 설정이 없는 DB(결과 없음)는 board.datasource.replica.require-replication=true 이면 사용하지 않고,
+ *   false(기본값)이면 지연이 없는 것으로 봅니다. (로컬에서 두 MySQL 인스턴스로 확인하는 경우, 두 DB 의 데이터는 직접 맞춰야 함)
+ * · 글을 쓴 사용자가 자신의 변경을 바로 보도록 하는 것은 사용자별로 {@link com.study.connection.filter.PrimaryStickyFilter} 가 처리하며,
+ *   다른 사용자의 조회는 게시물이 변경된 직후에도 복제 DB 를 사용합니다. (최대 지연 시간 이내의 이전 데이터를 볼 수 있음)
+ * · 애플리케이션 캐시(게시물 상세, 건수, 렌더링 결과)는 무효화 후 최대 지연 시간 동안 해당 항목을 다시 채우지 않고,
+ *   주 DB 고정 요청은 캐시를 거치지 않으므로, 복제 DB 에서 읽은 변경 전 데이터가 캐시를 통해 다른 사용자나 글쓴이에게 남지 않습니다.
+ */
+@Slf4j
+public class ReplicaStatus {
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final boolean requireReplication;
+
+    private volatile boolean available;
+
+    public ReplicaStatus(DataSource replica, Duration maxLag, boolean requireReplication) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.requireReplication = requireReplication;
+    }
+
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+
+    /**
+     * 지금 조회를 복제 DB 로 보내도 되는지 반환합니다.
+     */
+    public boolean isUsable() {
+        return available;
+    }
+
+
+    /**
+     * 복제 DB 의 상태를 확인합니다.
+     */
+    @Scheduled(fixedDelayString = "${board.datasource.replica.health-check-ms:5000}")
+    public void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!resultSet.next()) {
+                // 복제 설정이 없는 DB 는 주 DB 와 같은 데이터라는 보장이 없음
+                if (requireReplication) {
+                    markUnavailable("복제 설정 없음 (SHOW REPLICA STATUS 결과 없음)");
+                } else {
+                    markAvailable();
+                }
+                return;
+            }
+            long lagSeconds = resultSet.getLong("Seconds_Behind_Source");
+            if (resultSet.wasNull()) {
+                markUnavailable("복제가 중지됨");
+                return;
+            }
+            if (lagSeconds > maxLag.toSeconds()) {
+                markUnavailable("복제 지연 " + lagSeconds + "초");
+                return;
+            }
+            markAvailable();
+        } catch (SQLException e) {
+            markUnavailable(e.getLocalizedMessage());
+        }
+    }
+
+
+    /**
+     * 복제 DB 커넥션을 얻지 못한 경우 호출합니다. 다음 상태 확인까지 주 DB 를 사용합니다.
+     */
+    public void markUnavailable(String reason) {
+        if (available) {
+            log.warn("복제 DB 사용 중지 (주 DB 로 조회) : {}", reason);
+        }
+        available = false;
+    }
+
+
+    private void markAvailable() {
+        if (!available) {
+            log.info("복제 DB 사용");
+        }
+        available = true;
+    }
+}
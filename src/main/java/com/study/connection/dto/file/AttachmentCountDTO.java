@@ -0,0 +1,16 @@
+package com.study.connection.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentCountDTO {
+    private int postId;
+    // post.attachment_count 에 저장된 값
+    private int storedCount;
+    // file 테이블의 실제 첨부파일 수
+    private int actualCount;
+}
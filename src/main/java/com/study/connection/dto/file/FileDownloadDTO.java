@@ -14,5 +14,6 @@ public class FileDownloadDTO {
     private String fileName;
     private String filePath;
     private String contentType;
+    private String contentHash;
 }
 // TODO 수정한 DTO
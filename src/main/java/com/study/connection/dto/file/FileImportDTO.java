@@ -0,0 +1,21 @@
+package com.study.connection.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 일괄 가져오기(NDJSON) 게시물의 첨부파일입니다.
+ * path 는 첨부파일 디렉토리(board.import.attachment-dir) 기준 상대 경로이며,
+ * fileName 이 없으면 path 의 파일명을, contentType 이 없으면 확장자로 추정한 형식을 사용합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileImportDTO {
+    private String path;
+    private String fileName;
+    private String contentType;
+}
@@ -16,5 +16,6 @@ public class FileMetaInsertDTO {
     private long fileSize;
     private String contentType;
     private String filePath;
+    private String contentHash;
 }
 // TODO 수정한 DTO
\ No newline at end of file
@@ -13,5 +13,7 @@ public class FileMetadataDTO {
     int fileId;
     String fileName;
     String fileSize;
+    // 미리보기/웹용 축소본(file_variant)이 있는 이미지인 경우 true
+    boolean preview;
 }
 // TODO 수정한 DTO
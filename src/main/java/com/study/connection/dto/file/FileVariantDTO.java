@@ -0,0 +1,19 @@
+package com.study.connection.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileVariantDTO {
+    private int fileId;
+    // thumb(미리보기) / web(웹용 축소본)
+    private String variant;
+    private String contentType;
+    private int width;
+    private int height;
+    private long fileSize;
+    private String filePath;
+}
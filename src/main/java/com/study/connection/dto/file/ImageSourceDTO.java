@@ -3,14 +3,14 @@ package com.study.connection.dto.file;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 
+// 축소본을 만들 원본 이미지 첨부파일
 @Getter
-@Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class FileMetaDeleteDTO {
+public class ImageSourceDTO {
     private int fileId;
     private int postId;
+    private String filePath;
+    private String contentType;
 }
-// TODO 수정한 DTO
@@ -0,0 +1,17 @@
+package com.study.connection.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredFileDTO {
+    private String filePath;
+    private long fileSize;
+    // SHA-256 (hex), 저장 경로의 파일명으로도 사용
+    private String contentHash;
+    // 같은 내용의 파일이 이미 있어 새로 쓰지 않은 경우 true
+    private boolean deduplicated;
+}
@@ -0,0 +1,20 @@
+package com.study.connection.dto.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 업로드 세션 상태 (재개 시 받지 못한 조각만 다시 보냄)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionDTO {
+    private String uploadId;
+    private long fileSize;
+    private int chunkSize;
+    private int chunkCount;
+    // 받은 조각 번호 (0 부터)
+    private List<Integer> receivedChunks;
+}
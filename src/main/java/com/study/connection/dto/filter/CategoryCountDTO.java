@@ -0,0 +1,13 @@
+package com.study.connection.dto.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryCountDTO {
+    private int categoryId;
+    private int postCount;
+}
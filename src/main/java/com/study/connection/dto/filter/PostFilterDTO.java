@@ -14,12 +14,20 @@ public class PostFilterDTO {
     private int categoryId;
     private String keyword;
     private int offset;
+    private int cursorId;
+    private boolean cursorPrev;
 
 
     public void setOffset(int currentPage, int limit) {
         this.offset = (currentPage - 1) * limit;
     }
 
+    // 커서(keyset) 방식 조회 시 기준이 되는 게시물 ID 와 방향을 설정합니다. (prev : 기준보다 최신 글 방향)
+    public void setCursor(int cursorId, boolean cursorPrev) {
+        this.cursorId = cursorId;
+        this.cursorPrev = cursorPrev;
+    }
+
     public void setStartDate(String startDate) {
         this.startDate = startDate;
     }
@@ -0,0 +1,15 @@
+package com.study.connection.dto.filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private List<Integer> postIds;
+    private int totalCount;
+}
@@ -0,0 +1,36 @@
+package com.study.connection.dto.post;
+
+import com.study.connection.dto.file.FileImportDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 일괄 가져오기(NDJSON) 한 줄에 해당하는 게시물입니다.
+ * createdAt, updatedAt 은 'yyyy-MM-dd HH:mm:ss' 형식이며, createdAt 이 없으면 가져온 시각으로 저장합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostImportDTO {
+    // INSERT 후 생성된 게시물 ID
+    private int postId;
+    private int categoryId;
+    private String title;
+    private String content;
+    private String writer;
+    // 평문 또는 BCrypt 해시, 저장 전에 해시로 바뀜
+    private String password;
+    private int views;
+    private String createdAt;
+    private String updatedAt;
+    private List<FileImportDTO> attachments;
+
+    public int getAttachmentCount() {
+        return attachments == null ? 0 : attachments.size();
+    }
+}
@@ -0,0 +1,19 @@
+package com.study.connection.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostIndexDTO {
+    private int postId;
+    private int categoryId;
+    private String title;
+    private String writer;
+    private String content;
+    private String createdDate;
+}
@@ -16,5 +16,10 @@ public class PostListDTO {
     private String createdAt;
     private String updatedAt;
     private boolean fileExist;
+
+    // DB 에 아직 반영되지 않은 조회수 증가분을 더할 때 사용합니다.
+    public void setViews(int views) {
+        this.views = views;
+    }
 }
 // TODO 수정한 DTO
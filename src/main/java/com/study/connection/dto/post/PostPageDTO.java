@@ -0,0 +1,15 @@
+package com.study.connection.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostPageDTO {
+    private List<PostListDTO> postList;
+    private int totalCount;
+}
@@ -0,0 +1,13 @@
+package com.study.connection.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ViewCountDTO {
+    private int postId;
+    private long delta;
+}
@@ -0,0 +1,72 @@
+package com.study.connection.filter;
+
+import com.study.connection.datasource.ReadRoutingContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * 글을 등록/수정/삭제한 사용자의 요청을 일정 시간(board.datasource.sticky-seconds) 주 DB 로 보냅니다.
+ * 복제 DB 의 반영이 늦더라도, 글을 쓴 직후의 목록/상세 화면에서 자신이 쓴 내용이 보이도록 하기 위함입니다.
+ * · GET/HEAD 가 아닌 요청에는 만료 시각을 담은 쿠키를 붙이고, 쿠키가 유효한 동안의 요청은 {@link ReadRoutingContext} 로 주 DB 를 사용합니다.
+ * · 리다이렉트 응답이 먼저 커밋되므로 쿠키는 요청을 처리하기 전에 붙입니다.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PrimaryStickyFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "board-primary";
+
+    private final Duration stickyDuration;
+
+    public PrimaryStickyFilter(Duration stickyDuration) {
+        this.stickyDuration = stickyDuration;
+    }
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(System.currentTimeMillis() + stickyDuration.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) stickyDuration.toSeconds());
+            response.addCookie(cookie);
+        }
+
+        if (write || isSticky(request)) {
+            ReadRoutingContext.setPrimaryOnly();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadRoutingContext.clear();
+        }
+    }
+
+
+    private boolean isSticky(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,221 @@
+package com.study.connection.filter;
+
+import com.study.connection.datasource.ReadRoutingContext;
+import com.study.connection.datasource.ReplicaStatus;
+import com.study.connection.service.ViewCountBuffer;
+import com.study.connection.service.cache.BoundedCache;
+import com.study.connection.service.event.PostChangedEvent;
+import com.study.connection.service.event.PostsImportedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.support.SessionFlashMapManager;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * 게시물 목록(/posts)과 게시물 상세(/post/{postId}) 화면의 렌더링 결과(HTML)를 캐시합니다.
+ * 글이 바뀌기 전까지 같은 페이지/검색 조건의 화면은 내용이 같으므로, 템플릿을 매번 다시 렌더링하지 않습니다.
+ * · 캐시 키 : 요청 경로 + 이름순으로 정렬한 쿼리 파라미터 (페이지 번호, 커서, 검색 조건 포함) + 요청 언어(Accept-Language)
+ * · 세션에 따라 달라지는 화면은 캐시하지 않습니다. 세션에 다음 요청으로 전달할 flash 속성이 있는 요청은 캐시를 거치지 않고,
+ *   렌더링 중에 쿠키(세션 생성 등)를 설정한 응답은 저장하지 않습니다.
+ * · 최대 크기 / 만료 시간 : board.page-cache.max-size / board.page-cache.ttl-seconds
+ * · 게시물이 등록/수정/삭제되면({@link PostChangedEvent}) 목록 화면 전체와 해당 게시물의 상세 화면을 무효화합니다.
+ *   복제 DB 를 사용하면 무효화한 화면은 복제 지연 한도(board.datasource.replica.max-lag-seconds) 동안 다시 저장하지 않고,
+ *   주 DB 고정 요청({@link ReadRoutingContext}, 글을 쓴 직후의 사용자)은 캐시를 거치지 않습니다.
+ * · 응답에는 본문의 SHA-256 으로 만든 강한 ETag 와 Cache-Control: no-cache 를 붙여,
+ *   브라우저/프록시가 매번 재검증하고 내용이 같으면 본문 없이 304 Not Modified 를 받도록 합니다.
+ * · 상세 화면을 캐시(또는 304)로 응답한 경우에도 조회수는 증가시킵니다.
+ *   화면에 표시되는 조회수는 캐시 만료 시간만큼 늦게 반영될 수 있습니다.
+ */
+@Component
+public class RenderedPageCacheFilter extends OncePerRequestFilter {
+
+    private static final String ARTICLE_PATH = "/post/";
+    private static final String LIST_PATH = "/posts";
+    private static final String CACHE_CONTROL = "no-cache";
+    // SessionFlashMapManager 가 flash 속성을 세션에 저장하는 속성 이름
+    private static final String FLASH_MAPS_ATTRIBUTE = SessionFlashMapManager.class.getName() + ".FLASH_MAPS";
+
+    private final BoundedCache<String, CachedPage> cache;
+    private final ViewCountBuffer viewCountBuffer;
+
+    public RenderedPageCacheFilter(ViewCountBuffer viewCountBuffer,
+                                   ObjectProvider<ReplicaStatus> replicaStatus,
+                                   @Value("${board.page-cache.max-size:2000}") int maxSize,
+                                   @Value("${board.page-cache.ttl-seconds:10}") long ttlSeconds) {
+        this.viewCountBuffer = viewCountBuffer;
+        Duration refillDelay = replicaStatus.stream().map(ReplicaStatus::getMaxLag).findFirst().orElse(Duration.ZERO);
+        this.cache = new BoundedCache<>("renderedPage", maxSize, Duration.ofSeconds(ttlSeconds), refillDelay);
+    }
+
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !(LIST_PATH.equals(path) || articleId(path) > 0);
+    }
+
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (ReadRoutingContext.isPrimaryOnly() || hasFlashAttributes(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String key = cacheKey(path, request);
+
+        long generation = cache.generation();
+        CachedPage page = cache.getIfPresent(key);
+        if (page != null) {
+            int postId = articleId(path);
+            if (postId > 0) {
+                viewCountBuffer.increment(postId);
+            }
+            write(page, request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || contentType == null || !contentType.startsWith("text/html")) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        page = new CachedPage(body, etag(body), contentType);
+        if (!wrapper.containsHeader(HttpHeaders.SET_COOKIE) && !hasFlashAttributes(request)) {
+            cache.put(key, page, generation);
+        }
+        wrapper.resetBuffer();
+        write(page, request, response);
+    }
+
+
+    /**
+     * 게시물 변경 시 목록 화면 전체와 해당 게시물의 상세 화면을 무효화합니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        String article = ARTICLE_PATH + event.getPostId();
+        Predicate<String> affected = key -> key.startsWith(LIST_PATH)
+                || key.startsWith(article + "?") || key.startsWith(article + "#");
+        cache.invalidateIf(affected);
+        cache.holdRefill(affected);
+    }
+
+
+    /**
+     * 게시물을 일괄로 가져온 뒤 목록 화면 전체를 무효화합니다.
+     */
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        Predicate<String> affected = key -> key.startsWith(LIST_PATH);
+        cache.invalidateIf(affected);
+        cache.holdRefill(affected);
+    }
+
+
+    public BoundedCache<?, ?> getCache() {
+        return cache;
+    }
+
+
+    private void write(CachedPage page, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, page.etag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), page.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(page.contentType());
+        response.setContentLength(page.body().length);
+        response.getOutputStream().write(page.body());
+    }
+
+    // 경로?이름=값&...#언어 (파라미터 순서가 달라도 같은 키, 이름과 값은 URL 인코딩하여 구분자와 섞이지 않게 함)
+    private String cacheKey(String path, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(path);
+        char separator = '?';
+        for (String name : new TreeSet<>(request.getParameterMap().keySet())) {
+            for (String value : request.getParameterValues(name)) {
+                key.append(separator).append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                        .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return key.append('#').append(request.getLocale().toLanguageTag()).toString();
+    }
+
+    private boolean hasFlashAttributes(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute(FLASH_MAPS_ATTRIBUTE) != null;
+    }
+
+    // If-None-Match : "etag1", "etag2" 또는 *
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // /post/{postId} 이면 게시물 ID, 아니면 0
+    private int articleId(String path) {
+        if (!path.startsWith(ARTICLE_PATH)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(path.substring(ARTICLE_PATH.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    private record CachedPage(byte[] body, String etag, String contentType) {
+    }
+}
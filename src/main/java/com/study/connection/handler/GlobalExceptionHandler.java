@@ -1,8 +1,13 @@
 package com.study.connection.handler;
 
 import com.study.connection.handler.exception.InvalidPasswordException;
+import com.study.connection.handler.exception.PasswordHashRejectedException;
+import com.study.connection.handler.exception.TooManyPasswordAttemptsException;
+import org.springframework.http.HttpStatus;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @ControllerAdvice
@@ -14,4 +19,20 @@ public class GlobalExceptionHandler {
         // return "redirect:/edit-post";
         return "views/error";
     }
+
+    // 비밀번호 확인 대기열이 가득 찬 경우, 기다리지 않고 바로 응답
+    @ExceptionHandler(PasswordHashRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String handlePasswordHashRejectedException(PasswordHashRejectedException ex, Model model) {
+        model.addAttribute("errorMessage", ex.getMessage());
+        return "views/error";
+    }
+
+    // 한 게시물에 대한 비밀번호 실패 횟수가 제한을 넘은 경우
+    @ExceptionHandler(TooManyPasswordAttemptsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public String handleTooManyPasswordAttemptsException(TooManyPasswordAttemptsException ex, Model model) {
+        model.addAttribute("errorMessage", ex.getMessage());
+        return "views/error";
+    }
 }
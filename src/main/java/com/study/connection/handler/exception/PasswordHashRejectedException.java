@@ -0,0 +1,7 @@
+package com.study.connection.handler.exception;
+
+public class PasswordHashRejectedException extends RuntimeException {
+    public PasswordHashRejectedException(String message) {
+        super(message);
+    }
+}
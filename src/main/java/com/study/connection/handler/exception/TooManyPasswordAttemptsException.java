@@ -0,0 +1,7 @@
+package com.study.connection.handler.exception;
+
+public class TooManyPasswordAttemptsException extends RuntimeException {
+    public TooManyPasswordAttemptsException(String message) {
+        super(message);
+    }
+}
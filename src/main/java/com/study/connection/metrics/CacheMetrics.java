@@ -0,0 +1,56 @@
+package com.study.connection.metrics;
+
+import com.study.connection.filter.RenderedPageCacheFilter;
+import com.study.connection.service.cache.BoundedCache;
+import com.study.connection.service.cache.PostCountCache;
+import com.study.connection.service.cache.PostReadCache;
+import com.study.connection.service.search.PostSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 애플리케이션의 메모리 캐시({@link BoundedCache}) 통계와 검색 색인 크기를 Micrometer 지표로 등록합니다.
+ * · board.cache.gets (cache, result=hit|miss) / board.cache.evictions (cache) / board.cache.size (cache)
+ * · board.search.index.size : 검색 색인에 등록된 게시물 수
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    private final List<BoundedCache<?, ?>> caches = new ArrayList<>();
+    private final PostSearchIndex searchIndex;
+
+    public CacheMetrics(PostCountCache postCountCache, PostReadCache postReadCache,
+                        RenderedPageCacheFilter renderedPageCacheFilter, PostSearchIndex searchIndex) {
+        caches.add(postCountCache.getCache());
+        caches.addAll(postReadCache.getCaches());
+        caches.add(renderedPageCacheFilter.getCache());
+        this.searchIndex = searchIndex;
+    }
+
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BoundedCache<?, ?> cache : caches) {
+            FunctionCounter.builder("board.cache.gets", cache, BoundedCache::getHitCount)
+                    .tags("cache", cache.getName(), "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("board.cache.gets", cache, BoundedCache::getMissCount)
+                    .tags("cache", cache.getName(), "result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("board.cache.evictions", cache, BoundedCache::getEvictionCount)
+                    .tag("cache", cache.getName())
+                    .register(registry);
+            Gauge.builder("board.cache.size", cache, BoundedCache::size)
+                    .tag("cache", cache.getName())
+                    .register(registry);
+        }
+        Gauge.builder("board.search.index.size", searchIndex, PostSearchIndex::size)
+                .register(registry);
+    }
+}
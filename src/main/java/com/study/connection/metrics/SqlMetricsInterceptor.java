@@ -0,0 +1,112 @@
+package com.study.connection.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 매퍼 구문(statement)별 실행 시간, 처리 행 수, 오류 수를 집계하는 MyBatis 인터셉터입니다.
+ * · board.sql 타이머 (statement=getFilteredPosts 등, outcome=success|error) : 실행 시간과 호출/오류 수
+ * · board.sql.rows 분포 (statement) : 조회 결과 행 수 또는 변경된 행 수
+ * · 실행 시간이 board.sql.slow-threshold-ms 이상이면 SQL 을 경고 로그로 남깁니다.
+ *   바인딩 값은 비밀번호 등 개인 정보가 포함될 수 있으므로 기록하지 않고, 파라미터 이름만 기록합니다.
+ */
+@Slf4j
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry,
+                                 @Value("${board.sql.slow-threshold-ms:200}") long slowThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement statement = (MappedStatement) args[0];
+        String statementName = statement.getId().substring(statement.getId().lastIndexOf('.') + 1);
+
+        long start = System.nanoTime();
+        String outcome = "error";
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("board.sql")
+                    .tag("statement", statementName)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            int rows = rowCount(result, args);
+            if (rows >= 0) {
+                DistributionSummary.builder("board.sql.rows")
+                        .tag("statement", statementName)
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            if (elapsed >= slowThresholdNanos) {
+                logSlowQuery(statement, args[1], statementName, elapsed, rows);
+            }
+        }
+    }
+
+
+    // 조회 결과 List 의 크기 또는 변경된 행 수, 알 수 없으면 (ResultHandler / Cursor) -1
+    private int rowCount(Object result, Object[] args) {
+        if (result instanceof List<?> list && !(args.length > 3 && args[3] != null)) {
+            return list.size();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+
+    private void logSlowQuery(MappedStatement statement, Object parameter, String statementName, long elapsed, int rows) {
+        BoundSql boundSql = statement.getBoundSql(parameter);
+        String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+        String parameters = boundSql.getParameterMappings().stream()
+                .map(ParameterMapping::getProperty)
+                .map(property -> property + "=?")
+                .collect(Collectors.joining(", ", "[", "]"));
+        log.warn("느린 쿼리 {} : {}ms, rows={} sql=[{}] params={}",
+                statementName, TimeUnit.NANOSECONDS.toMillis(elapsed), rows, sql, parameters);
+    }
+}
@@ -0,0 +1,61 @@
+package com.study.connection.service;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.file.AttachmentCountDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 게시물의 첨부파일 수(post.attachment_count)가 file 테이블과 일치하는지 확인하고, 어긋난 값을 바로잡습니다.
+ * 첨부파일 수는 PostService 에서 첨부파일 추가/삭제와 같은 트랜잭션으로 갱신되지만,
+ * 직접 수정한 데이터 등으로 어긋날 수 있으므로 주기적으로 확인합니다. (board.attachment-count.check-cron)
+ */
+@Slf4j
+@Component
+public class AttachmentCountChecker {
+
+    // 한 번의 UPDATE 로 바로잡을 최대 게시물 수
+    private static final int BATCH_SIZE = 500;
+
+    private final PostDAO postDAO;
+
+    public AttachmentCountChecker(PostDAO postDAO) {
+        this.postDAO = postDAO;
+    }
+
+
+    /**
+     * 첨부파일 수가 어긋난 게시물을 찾아 file 테이블 기준으로 다시 계산합니다.
+     *
+     * @return 바로잡은 게시물 수
+     */
+    @Scheduled(cron = "${board.attachment-count.check-cron:0 30 4 * * *}")
+    public int checkAndRepair() {
+        try {
+            List<AttachmentCountDTO> mismatches = postDAO.findAttachmentCountMismatches();
+            if (mismatches.isEmpty()) {
+                return 0;
+            }
+
+            List<Integer> postIds = new ArrayList<>();
+            for (AttachmentCountDTO dto : mismatches) {
+                log.warn("첨부파일 수 불일치 : postId={}, 저장된 값={}, 실제={}",
+                        dto.getPostId(), dto.getStoredCount(), dto.getActualCount());
+                postIds.add(dto.getPostId());
+            }
+            for (int from = 0; from < postIds.size(); from += BATCH_SIZE) {
+                postDAO.repairAttachmentCounts(postIds.subList(from, Math.min(postIds.size(), from + BATCH_SIZE)));
+            }
+            log.info("첨부파일 수 {}건 바로잡음", postIds.size());
+            return postIds.size();
+
+        } catch (Exception e) {
+            log.error("첨부파일 수 확인 중 오류 : {}", e.getLocalizedMessage());
+            return 0;
+        }
+    }
+}
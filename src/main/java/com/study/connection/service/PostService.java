@@ -3,25 +3,48 @@ package com.study.connection.service;
 import com.study.connection.dao.PostDAO;
 import com.study.connection.dto.file.*;
 import com.study.connection.dto.filter.CategoryDTO;
+import com.study.connection.dto.filter.CursorDTO;
 import com.study.connection.dto.filter.PageDTO;
 import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.filter.SearchResultDTO;
 import com.study.connection.dto.post.*;
 import com.study.connection.handler.exception.InvalidPasswordException;
+import com.study.connection.handler.exception.PasswordHashRejectedException;
+import com.study.connection.handler.exception.PostNotFoundException;
+import com.study.connection.handler.exception.TooManyPasswordAttemptsException;
+import com.study.connection.service.cache.PostCountCache;
+import com.study.connection.service.cache.PostReadCache;
+import com.study.connection.service.concurrent.FanOutScope;
+import com.study.connection.service.concurrent.PageFanOut;
+import com.study.connection.service.event.PostChangedEvent;
+import com.study.connection.service.file.AttachmentStorage;
+import com.study.connection.service.image.ImageVariantService;
+import com.study.connection.service.password.PasswordAttemptLimiter;
+import com.study.connection.service.password.PasswordHasher;
+import com.study.connection.service.search.PostSearchIndex;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 
 /**
  * 게시물 관련, 데이터베이스와 상호작용을 포함한 비즈니스 로직을 처리합니다.
  * 게시물의 조회, 등록, 수정, 삭제 및 파일 업로드 등을 담당합니다.
+ * 목록/상세 조회 메서드는 읽기 전용 트랜잭션으로 실행되어, 복제 DB 가 설정된 경우 복제 DB 에서 조회합니다. (DataSourceConfiguration)
  * 쭉
  * 쭉
  * 쭉
@@ -31,14 +54,49 @@ import java.util.List;
 @Service
 public class PostService {
 
-    private final String uploadDir = "src/main/resources/upload/file1/";
-    private final String uniqueKey = "-";
     private final long maxDirectorySize = 500L * 1024L * 1024L; // 500MB
 
-    private PostDAO postDAO;
+    private static final int POST_LIMIT = 10;
+    // 페이지 번호(OFFSET) 링크를 제공하는 최대 페이지, 이후 페이지는 커서(keyset) 방식으로만 이동합니다.
+    private static final int OFFSET_PAGE_LIMIT = 10;
+    private static final String CURSOR_NEXT = "n";
+    private static final String CURSOR_PREV = "p";
 
-    public PostService(PostDAO postDAO) {
+    private PostDAO postDAO;
+    private PostSearchIndex searchIndex;
+    private ViewCountBuffer viewCountBuffer;
+    private PostCountCache postCountCache;
+    private PostReadCache postReadCache;
+    private AttachmentStorage attachmentStorage;
+    private ImageVariantService imageVariantService;
+    private PasswordHasher passwordHasher;
+    private PasswordAttemptLimiter passwordAttemptLimiter;
+    private ApplicationEventPublisher eventPublisher;
+    private PageFanOut pageFanOut;
+    private TransactionTemplate transactionTemplate;
+    // 작업 스레드에서 실행하는 조회용 (요청 스레드의 트랜잭션은 다른 스레드로 전달되지 않음)
+    private TransactionTemplate readOnlyTransaction;
+
+    public PostService(PostDAO postDAO, PostSearchIndex searchIndex, ViewCountBuffer viewCountBuffer,
+                       PostCountCache postCountCache, PostReadCache postReadCache,
+                       AttachmentStorage attachmentStorage, ImageVariantService imageVariantService,
+                       PasswordHasher passwordHasher,
+                       PasswordAttemptLimiter passwordAttemptLimiter, ApplicationEventPublisher eventPublisher,
+                       PageFanOut pageFanOut, PlatformTransactionManager transactionManager) {
         this.postDAO = postDAO;
+        this.searchIndex = searchIndex;
+        this.viewCountBuffer = viewCountBuffer;
+        this.postCountCache = postCountCache;
+        this.postReadCache = postReadCache;
+        this.attachmentStorage = attachmentStorage;
+        this.imageVariantService = imageVariantService;
+        this.passwordHasher = passwordHasher;
+        this.passwordAttemptLimiter = passwordAttemptLimiter;
+        this.eventPublisher = eventPublisher;
+        this.pageFanOut = pageFanOut;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
 
@@ -47,24 +105,31 @@ public class PostService {
     /**
      * 데이터베이스에서 전체 게시물 수를 가져옵니다.
      * 검색 조건이 있다면, 검색 조건을 반영한 전체 게시물 수를 가져옵니다.
+     * 검색어가 있고 검색 색인이 준비되어 있다면, 검색 색인의 검색 건수를 사용합니다.
+     * 그 외에는 검색 조건별 건수 캐시({@link PostCountCache})를 거쳐 조회합니다.
      *
      * @return {@code CategoryDTO} 객체들의 리스트를 반환합니다. 예외가 발생할 경우 빈 리스트를 반환합니다.
      */
+    @Transactional(readOnly = true)
     public int getAllPostsCount(PostFilterDTO dto) {
-        return postDAO.countAllPosts(dto);
+        if (useSearchIndex(dto)) {
+            return searchIndex.search(dto).getTotalCount();
+        }
+        return postCountCache.getCount(dto, () -> postDAO.countAllPosts(dto));
     }
 
 
 
     /**
-     * 데이터베이스에서 카테고리 목록을 가져옵니다.
+     * 데이터베이스에서 카테고리 목록을 가져옵니다. (캐시 사용)
      * 가져오는 중에 예외가 발생하면, 빈 리스트를 반환합니다.
      *
      * @return {@code CategoryDTO} 객체들의 리스트를 반환합니다. 예외가 발생할 경우 빈 리스트를 반환합니다.
      */
+    @Transactional(readOnly = true)
     public List<CategoryDTO> getCategories() {
         try {
-            return postDAO.getCategoryList();
+            return postReadCache.getCategories(postDAO::getCategoryList);
         } catch (Exception e) {
             log.error("getCategoryList 쿼리 실행 중 오류 : {}", e.getLocalizedMessage());
             return List.of();
@@ -74,44 +139,104 @@ public class PostService {
 
 
     /**
-     * 주어진 검색조건에 따라 필터링한 데이터 리스트를 반환합니다.
-     * 검색조건이 없으면 전체 게시물 리스트를 반환하며, 예외가 발생하면 빈 리스트를 반환합니다.
+     * 게시물 목록 한 페이지와 검색 조건에 맞는 전체 게시물 수를 함께 조회합니다.
+     * 목록 화면은 이 메서드 하나로 필요한 데이터를 가져옵니다.
+     * · 검색 색인을 사용하는 경우 : 색인 검색 한 번으로 게시물 ID 와 전체 건수를 얻고, 게시물은 ID 로 조회합니다.
+     * · 커서가 있는 경우 : 커서(keyset) 방식으로 조회하고, 전체 건수는 건수 캐시를 사용합니다.
+     * · 그 외 (페이지 번호) : OFFSET 방식으로 목록을 조회하고, 전체 건수는 건수 캐시를 사용합니다.
+     *   (COUNT(*) OVER() 는 페이지에 상관없이 조건에 맞는 행을 모두 읽으므로, 건수는 따로 캐시합니다.)
+     * · 목록과 전체 건수(캐시에 없으면 COUNT 쿼리)는 {@link PageFanOut} 으로 동시에 조회하며,
+     *   작업 스레드에서는 각각 읽기 전용 트랜잭션을 새로 시작합니다.
      *
-     * @param dto 게시물 검색 조건을 담고 있는 {@code SearchPostDTO} 객체입니다.
-     * @return {@code PostListDTO} 객체들의 리스트를 반환합니다.
-     *         예외가 발생할 경우 빈 리스트를 반환합니다.
+     * @param dto 게시물 검색 조건을 담고 있는 {@code PostFilterDTO} 객체입니다.
+     * @param currentPage 현재 페이지 번호
+     * @param cursor {@link #createCursor} 로 만들어진 커서 문자열 (없으면 null)
+     * @return {@link PostPageDTO} 게시물 목록(게시물 ID 내림차순)과 전체 게시물 수.
+     *         예외가 발생할 경우 빈 목록을 반환합니다.
      */
-    public List<PostListDTO> getFilteredPosts(PostFilterDTO dto) {
+    @Transactional(readOnly = true)
+    public PostPageDTO getPostPage(PostFilterDTO dto, int currentPage, String cursor) {
+        boolean cursorMode = cursor != null && !cursor.isEmpty();
+        if (cursorMode && !applyCursor(dto, cursor)) {
+            log.warn("잘못된 커서 값 : {}", cursor);
+            cursorMode = false;
+            currentPage = 1;
+        }
+        if (!cursorMode) {
+            dto.setOffset(currentPage, POST_LIMIT);
+        }
+
         try {
-            // 요청에서 전달된 데이터가 없는 경우에도 searchPostDTO는 절대 null이 되지 않음.
-            // 대신, SearchPostDTO 객체는 필드에 기본값(예: null, 0, false 등)을 가지는 빈 객체로 전달됨.
-            // String 은 null 또는 '' / int 는 null 또는 0
-            // TODO MAPPER.DAO 에서 WHERE 절 조건문 재확인하기
-            List<PostListDTO> filteredPosts = postDAO.getFilteredPosts(dto);
-            return filteredPosts;
+            if (useSearchIndex(dto)) {
+                SearchResultDTO result = searchIndex.search(dto);
+                List<PostListDTO> posts = result.getPostIds().isEmpty()
+                        ? List.of() : loadWithPendingViews(() -> postDAO.getPostsByIds(result.getPostIds()));
+                return new PostPageDTO(posts, result.getTotalCount());
+            }
+            Supplier<List<PostListDTO>> loader = cursorMode
+                    ? () -> getPostsByCursor(dto) : () -> postDAO.getFilteredPosts(dto);
+            try (FanOutScope scope = pageFanOut.open()) {
+                Supplier<List<PostListDTO>> posts =
+                        scope.fork(() -> readOnlyTransaction.execute(status -> loadWithPendingViews(loader)));
+                Supplier<Integer> totalCount =
+                        scope.fork(() -> readOnlyTransaction.execute(status -> getAllPostsCount(dto)));
+                scope.join();
+                return new PostPageDTO(posts.get(), totalCount.get());
+            }
 
         } catch (Exception e) {
-            log.error("getFilteredPosts 쿼리문 실행중 오류 : {}", e.getLocalizedMessage());
-            return List.of();
+            log.error("getPostPage 쿼리문 실행중 오류 : {}", e.getLocalizedMessage());
+            return new PostPageDTO(List.of(), 0);
         }
     }
 
 
 
+    /**
+     * 조회된 게시물 목록을 기준으로 이전/다음 페이지 이동에 사용할 커서를 만듭니다.
+     * 커서는 방향과 게시물 ID 를 Base64(URL-safe) 로 인코딩한 불투명한 문자열입니다.
+     *
+     * @param postList 현재 페이지에 표시되는 게시물 목록 (게시물 ID 내림차순)
+     * @param currentPage 현재 페이지 번호
+     * @return {@link CursorDTO} 이전/다음 페이지가 없으면 해당 커서는 null 입니다.
+     */
+    public CursorDTO createCursor(List<PostListDTO> postList, int currentPage) {
+        if (postList.isEmpty()) {
+            return new CursorDTO(null, null);
+        }
+
+        String prev = currentPage > 1 ? encodeCursor(CURSOR_PREV, postList.get(0).getPostId()) : null;
+        String next = postList.size() == POST_LIMIT
+                ? encodeCursor(CURSOR_NEXT, postList.get(postList.size() - 1).getPostId())
+                : null;
+        return new CursorDTO(prev, next);
+    }
+
+
+
     /**
      * 지정된 게시물 ID에 대한 게시물 정보를 조회하고, 해당 게시물 조회수를 1 증가시킵니다.
+     * 조회수 증가분은 {@link ViewCountBuffer} 에 모아 두었다가 주기적으로 DB 에 반영하며,
+     * 반환하는 조회수에는 아직 반영되지 않은 증가분이 포함됩니다.
+     * 게시물 정보는 {@link PostReadCache} 를 거쳐 조회합니다.
      * 예외가 발생하면 null 을 반환합니다.
      *
      * @param postId 조회할 게시물의 ID
      * @return {@link PostArticleDTO} 게시물의 정보를 담고 있는 DTO 객체.
      *         예외가 발생할 경우 null 을 반환합니다.
      */
+    @Transactional(readOnly = true)
     public PostArticleDTO getPostDetails(int postId) {
         try {
-            PostArticleDTO postArticleDTO = postDAO.getPostDetails(postId);
-            // TODO 조회수 관련해서 어떻게 처리할지 고민
-            postDAO.addViews(postId);
-            return postArticleDTO;
+            return viewCountBuffer.readWithPendingViews(pendingViews -> {
+                PostArticleDTO postArticleDTO = postReadCache.getPostDetails(postId, postDAO::getPostDetails);
+                if (postArticleDTO == null) {
+                    return null;
+                }
+                viewCountBuffer.increment(postId);
+                postArticleDTO.setViews(postArticleDTO.getViews() + (int) pendingViews.get(postId));
+                return postArticleDTO;
+            });
         } catch (Exception e) {
             log.error(e.getLocalizedMessage());
             return null;
@@ -121,15 +246,16 @@ public class PostService {
 
 
     /**
-     * 지정된 게시물 ID에 대한 첨부파일 정보(파일 ID, 파일명)를 조회합니다.
+     * 지정된 게시물 ID에 대한 첨부파일 정보(파일 ID, 파일명)를 조회합니다. (캐시 사용)
      * 가져오는 중에 예외가 발생하면, 빈 리스트를 반환합니다.
      *
      * @return {@code FileInfoDTO} 객체들의 리스트를 반환합니다.
      *         예외가 발생할 경우 빈 리스트를 반환합니다.
      */
+    @Transactional(readOnly = true)
     public List<FileMetadataDTO> getFileMeta(int postId) {
         try {
-            return postDAO.getFileMeta(postId);
+            return postReadCache.getFileMeta(postId, postDAO::getFileMeta);
         } catch (Exception e) {
             log.error(e.getLocalizedMessage());
             return List.of();
@@ -141,6 +267,8 @@ public class PostService {
     /**
      * 새 게시물을 데이터베이스에 삽입하고 관련 파일을 업로드합니다.
      * 업로드 하는 과정에서 비밀번호를 BCrypt를 사용하여 암호화합니다.
+     * 비밀번호 암호화와 파일 저장은 트랜잭션 밖에서 먼저 처리하고,
+     * 게시물과 첨부파일 메타데이터는 하나의 트랜잭션에서 저장합니다. (메타데이터는 multi-row INSERT 한 번)
      *
      * @param postInsertDTO 게시물의 세부 정보를 담고 있는 {@link PostInsertDTO} 객체.
      * @param files 업로드할 파일들을 나타내는 {@link MultipartFile} 객체 배열.
@@ -149,11 +277,23 @@ public class PostService {
     public void insertPost(PostInsertDTO postInsertDTO, MultipartFile[] files) {
         try {
             postInsertDTO.setBCryptPassword(encryptPassword(postInsertDTO.getPassword()));
-            postDAO.insertPost(postInsertDTO);
-
-            int postId = postInsertDTO.getPostId();
-            uploadFile(files, postId);
-
+            List<FileMetaInsertDTO> fileMetas = storeFiles(files);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                postDAO.insertPost(postInsertDTO);
+
+                int postId = postInsertDTO.getPostId();
+                insertFileMetas(postId, fileMetas);
+                eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.CREATED, postId,
+                        postInsertDTO.getCategoryId(), 0));
+                // 등록일은 DB 가 정한 created_at 을 사용
+                PostIndexDTO indexed = postDAO.getPostForIndex(postId);
+                afterCommit(() -> searchIndex.put(indexed));
+            });
+
+        } catch (PasswordHashRejectedException | TooManyPasswordAttemptsException e) {
+            // 비밀번호 확인 거절은 GlobalExceptionHandler 에서 응답 (429/503)
+            throw e;
         } catch (Exception e) {
             log.error("Exception occurred insertPost: ", e.getLocalizedMessage());
         }
@@ -165,6 +305,7 @@ public class PostService {
     /**
      * 지정된 ID의 게시물 데이터의 변경사항을 데이터베이스에 저장하고 관련 첨부 파일을 수정합니다.
      * 업로드 하는 과정에서 비밀번호의 일치 여부를 확인합니다.
+     * 게시물 수정, 첨부파일 삭제/추가는 하나의 트랜잭션에서 처리합니다.
      *
      * @param postDTO 게시물의 세부 정보를 담고 있는 {@link PostUpdateDTO} 객체.
      * @param files 업로드할 파일들을 나타내는 {@link MultipartFile} 객체 배열.
@@ -175,14 +316,28 @@ public class PostService {
             boolean result = checkPassword(postDTO.getPassword(), postDTO.getPostId());
             if (result) {
                 // TODO 한 게시물에 동일한 파일명 업로드 불가 정책 도입 해야함 (아직 미도입)
-                postDAO.updatePost(postDTO);
                 int postId = postDTO.getPostId();
-                deleteSelectedFiles(postId, metaDTO.getDeleteFileId());
-                uploadFile(files, postId);
+                List<FileMetaInsertDTO> fileMetas = storeFiles(files);
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    Integer previousCategoryId = postDAO.getPostCategoryId(postId);
+                    postDAO.updatePost(postDTO);
+                    deleteSelectedFiles(postId, metaDTO.getDeleteFileId());
+                    insertFileMetas(postId, fileMetas);
+                    eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.UPDATED, postId,
+                            postDTO.getCategoryId(), previousCategoryId == null ? 0 : previousCategoryId));
+                    PostIndexDTO indexed = postDAO.getPostForIndex(postId);
+                    if (indexed != null) {
+                        afterCommit(() -> searchIndex.put(indexed));
+                    }
+                });
 
             } else {
                 throw new InvalidPasswordException("비밀번호가 일치하지 않습니다.");
             }
+        } catch (PasswordHashRejectedException | TooManyPasswordAttemptsException e) {
+            // 비밀번호 확인 거절은 GlobalExceptionHandler 에서 응답 (429/503)
+            throw e;
         } catch (Exception e) {
             log.error(e.getLocalizedMessage());
         }
@@ -193,12 +348,22 @@ public class PostService {
             boolean result = checkPassword(postDTO.getPassword(), postDTO.getPostId());
             if (result) {
                 int postId = postDTO.getPostId();
-                deleteSelectedFiles(postId, postDAO.getFileIdList(postId));
-                postDAO.deletePost(postId);
+
+                transactionTemplate.executeWithoutResult(status -> {
+                    Integer categoryId = postDAO.getPostCategoryId(postId);
+                    deleteSelectedFiles(postId, postDAO.getFileIdList(postId));
+                    postDAO.deletePost(postId);
+                    eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.DELETED, postId,
+                            categoryId == null ? 0 : categoryId, 0));
+                    afterCommit(() -> searchIndex.remove(postId));
+                });
             } else {
                 throw new InvalidPasswordException("비밀번호가 일치하지 않습니다.");
             }
 
+        } catch (PasswordHashRejectedException | TooManyPasswordAttemptsException e) {
+            // 비밀번호 확인 거절은 GlobalExceptionHandler 에서 응답 (429/503)
+            throw e;
         } catch (Exception e) {
             log.error(e.getLocalizedMessage());
         }
@@ -208,58 +373,92 @@ public class PostService {
 
     /**
      * 제공된 평문 문자열을 BCrypt 해싱 알고리즘을 사용하여 암호화합니다.
+     * 해시는 요청 스레드가 아닌 {@link PasswordHasher} 의 전용 스레드 풀에서 실행됩니다.
      *
      * @param password 암호화할 평문 비밀번호.
      * @return BCrypt로 해시된 비밀번호.
+     * @throws PasswordHashRejectedException 해시 요청이 몰려 처리할 수 없는 경우
      */
     public String encryptPassword(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+        return passwordHasher.hash(password);
     }
 
 
 
     /**
      * 입력된 평문 비밀번호가 DB에 저장된 해시된 비밀번호와 일치하는지 확인합니다.
+     * 검증 전에 게시물별 시도 한 번을 예약하고, 예약 횟수가 제한을 넘으면 검증을 실행하지 않고 거절합니다. ({@link PasswordAttemptLimiter})
+     * 일치하지 않은 시도는 예약한 그대로 실패 횟수로 남습니다.
+     * 일치하고 저장된 해시의 비용(cost)이 현재 설정보다 낮다면, 새 비용으로 다시 해시하여 저장합니다. (비동기)
      *
      * @param plainTextPassword 입력된 평문 비밀번호.
      * @param postId            게시물 ID.
      * @return 비밀번호 일치 여부 (true: 일치, false: 불일치).
+     * @throws TooManyPasswordAttemptsException 실패 횟수가 제한을 넘은 경우
+     * @throws PasswordHashRejectedException 검증 요청이 몰려 처리할 수 없는 경우
      */
     public boolean checkPassword(String plainTextPassword, int postId) {
-        String hashedPasswordFromDatabase = postDAO.getPostPassword(postId);
-        return BCrypt.checkpw(plainTextPassword, hashedPasswordFromDatabase);
+        passwordAttemptLimiter.acquire(postId);
+
+        String hashedPasswordFromDatabase;
+        boolean matched;
+        try {
+            hashedPasswordFromDatabase = postDAO.getPostPassword(postId);
+            if (hashedPasswordFromDatabase == null) {
+                // 없는 게시물은 실패로 기록하지 않음 (추적 기록이 남지 않도록)
+                passwordAttemptLimiter.release(postId);
+                return false;
+            }
+            matched = passwordHasher.verify(plainTextPassword, hashedPasswordFromDatabase);
+        } catch (RuntimeException e) {
+            // 검증하지 못한 시도는 실패 횟수에 넣지 않음
+            passwordAttemptLimiter.release(postId);
+            throw e;
+        }
+        if (!matched) {
+            return false;
+        }
+
+        passwordAttemptLimiter.reset(postId);
+        if (passwordHasher.needsRehash(hashedPasswordFromDatabase)) {
+            passwordHasher.rehashAsync(plainTextPassword, rehashed ->
+                    postDAO.updatePostPassword(postId, hashedPasswordFromDatabase, rehashed));
+        }
+        return true;
     }
 
 
 
     /**
-     * 게시물에 첨부된 파일을 업로드합니다.
-     * 먼저 파일의 메타데이터를 DB 에 업로드 한 뒤, 파일데이터를 서버에 업로드 합니다.
+     * 조각 업로드({@link com.study.connection.service.file.UploadSessionService})로 받은 파일을 게시물에 첨부합니다.
+     * 메타데이터는 insertFileMeta 로 저장합니다. 비밀번호는 업로드를 완료하기 전에 {@link #checkPassword} 로 확인해야 합니다.
      *
-     * @param files  업로드할 MultipartFile 배열.
      * @param postId 게시물 ID.
+     * @param fileName 원본 파일명.
+     * @param contentType 파일 형식.
+     * @param stored 저장된 파일 ({@link AttachmentStorage#storeCompleted}).
+     * @return 저장된 첨부파일 ID
+     * @throws PostNotFoundException 게시물이 없는 경우 (비밀번호 확인 뒤 삭제된 경우 등)
      */
-    public void uploadFile(MultipartFile[] files, int postId) throws IOException {
-        for (MultipartFile file : files) {
-            if (!file.isEmpty()) {
-
-                String fileName = file.getOriginalFilename();
-                long fileSize = file.getSize();
-                String contentType = file.getContentType();
-                String filePathStr = uploadDir + postId + uniqueKey + fileName;
-
-                FileMetaInsertDTO metaDto = new FileMetaInsertDTO(0, postId, fileName, fileSize, contentType, filePathStr);
-                postDAO.insertFileMeta(metaDto);
-
-                Path filePath = Paths.get(filePathStr);
-                Path dirPath = filePath.getParent();
-                if (!Files.exists(dirPath)) {
-                    Files.createDirectories(dirPath);
-                }
-
-                Files.write(filePath, file.getBytes());
+    public int attachUploadedFile(int postId, String fileName, String contentType, StoredFileDTO stored) {
+        FileMetaInsertDTO fileMeta = new FileMetaInsertDTO(0, postId, fileName, stored.getFileSize(), contentType,
+                stored.getFilePath(), stored.getContentHash());
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer categoryId = postDAO.getPostCategoryId(postId);
+            if (categoryId == null) {
+                throw new PostNotFoundException("게시물이 없습니다 : " + postId);
             }
-        }
+            postDAO.insertFileMeta(fileMeta);
+            postDAO.addAttachmentCount(postId, 1);
+            eventPublisher.publishEvent(new PostChangedEvent(PostChangedEvent.Type.UPDATED, postId, categoryId, categoryId));
+
+            ImageSourceDTO image = new ImageSourceDTO(fileMeta.getFileId(), postId, fileMeta.getFilePath(), contentType);
+            afterCommit(() -> {
+                postReadCache.evictFileMeta(postId);
+                imageVariantService.submit(List.of(image));
+            });
+        });
+        return fileMeta.getFileId();
     }
 
 
@@ -267,46 +466,123 @@ public class PostService {
     /**
      * 선택된 파일의 메타데이터를 DB 에서 삭제하고, 서버에서 삭제합니다.
      * 파일 ID 와 게시물 ID 가 일치하는 경우에만 삭제됩니다.
+     * 같은 내용의 파일을 다른 첨부파일이 참조하고 있다면 서버의 파일은 유지됩니다.
+     * 파일 조회와 메타데이터 삭제는 각각 한 번의 쿼리로 처리하며, 서버의 파일은 트랜잭션이 커밋된 뒤 삭제합니다.
      *
      * @param fileIdList 삭제할 파일 ID 리스트.
      * @param postId     게시물 ID.
      */
-    public void deleteSelectedFiles(int postId, List<String> fileIdList) throws IOException {
+    public void deleteSelectedFiles(int postId, List<String> fileIdList) {
         if (fileIdList == null) {
             return;
         }
 
+        List<Integer> fileIds = new ArrayList<>();
         for (String fileIdStr : fileIdList) {
             if (fileIdStr != null && !fileIdStr.isEmpty()) {
+                fileIds.add(Integer.parseInt(fileIdStr));
+            }
+        }
+        if (fileIds.isEmpty()) {
+            return;
+        }
 
-                int fileId = Integer.parseInt(fileIdStr);
-                FileDownloadDTO fileDTO = postDAO.getFileDownloadData(fileId);
-                Path filePath = Paths.get(fileDTO.getFilePath());
-
-                if (Files.exists(filePath)) {
-                    Files.delete(filePath);
+        transactionTemplate.executeWithoutResult(status -> {
+            // 해당 게시물의 파일만 조회되므로, 다른 게시물의 파일 ID 는 삭제 대상에서 제외됨
+            // 첨부파일 수(attachment_count)는 실제로 삭제된 행 수만큼 줄임
+            List<FileDownloadDTO> fileDTOs = postDAO.getFileDownloadDataList(postId, fileIds);
+            if (fileDTOs.isEmpty()) {
+                return;
+            }
 
-                    FileMetaDeleteDTO metaDTO = new FileMetaDeleteDTO(fileId, postId);
-                    postDAO.deleteFile(metaDTO);
-                } else {
-                    log.error("File not found: {}", filePath.toString());
+            List<Integer> targetIds = new ArrayList<>();
+            for (FileDownloadDTO fileDTO : fileDTOs) {
+                targetIds.add(fileDTO.getFileId());
+            }
+            int deleted = postDAO.deleteFiles(postId, targetIds);
+            postDAO.addAttachmentCount(postId, -deleted);
+
+            // 메타데이터 삭제가 커밋된 뒤, 남은 참조가 없으면 서버의 파일을 삭제
+            afterCommit(() -> {
+                for (FileDownloadDTO fileDTO : fileDTOs) {
+                    attachmentStorage.release(fileDTO.getFilePath(), fileDTO.getContentHash());
+                    attachmentStorage.releaseVariants(fileDTO.getFileId());
                 }
+                postReadCache.evictFileMeta(postId);
+            });
+        });
+    }
+
+
+
+    // 파일을 디스크에 저장하고 메타데이터 목록을 만듦 (게시물 ID 는 DB 에 저장하기 직전에 설정)
+    // 같은 내용의 파일이 이미 저장되어 있다면 파일은 새로 쓰지 않음
+    // (메타데이터 저장에 실패한 파일은 AttachmentStorage 의 정리 작업에서 삭제)
+    private List<FileMetaInsertDTO> storeFiles(MultipartFile[] files) throws IOException {
+        List<FileMetaInsertDTO> fileMetas = new ArrayList<>();
+        if (files == null) {
+            return fileMetas;
+        }
+        for (MultipartFile file : files) {
+            if (!file.isEmpty()) {
+                StoredFileDTO stored = attachmentStorage.store(file);
+                fileMetas.add(new FileMetaInsertDTO(0, 0, file.getOriginalFilename(), stored.getFileSize(),
+                        file.getContentType(), stored.getFilePath(), stored.getContentHash()));
             }
         }
+        return fileMetas;
     }
 
+    // 첨부파일 메타데이터를 multi-row INSERT 한 번으로 저장하고 게시물의 첨부파일 수를 갱신 (트랜잭션 안에서 호출)
+    // 커밋된 뒤 이미지 첨부파일의 축소본 생성 작업을 등록 (파일 ID 는 INSERT 시 채워짐)
+    private void insertFileMetas(int postId, List<FileMetaInsertDTO> fileMetas) {
+        if (fileMetas.isEmpty()) {
+            return;
+        }
+        for (FileMetaInsertDTO fileMeta : fileMetas) {
+            fileMeta.setPostId(postId);
+        }
+        postDAO.insertFileMetaBatch(fileMetas);
+        postDAO.addAttachmentCount(postId, fileMetas.size());
+
+        List<ImageSourceDTO> images = new ArrayList<>();
+        for (FileMetaInsertDTO fileMeta : fileMetas) {
+            images.add(new ImageSourceDTO(fileMeta.getFileId(), postId, fileMeta.getFilePath(), fileMeta.getContentType()));
+        }
+        afterCommit(() -> {
+            postReadCache.evictFileMeta(postId);
+            imageVariantService.submit(images);
+        });
+    }
+
+    // 트랜잭션 안이라면 커밋된 뒤에, 트랜잭션 밖이라면 바로 실행
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+
 
     /**
      * 게시물의 페이지네이션 정보를 계산합니다.
+     * 페이지 번호 링크는 OFFSET_PAGE_LIMIT 페이지까지만 제공하며, 그 이후는 커서로 이동합니다.
      *
      * @param totalPostNumber 전체 게시물 수 입니다.
      * @param currentIndex 현재 페이지 인덱스 입니다.
      * @return 페이지네이션 세부 정보를 포함하는 {@link PageDTO} 객체를 반환합니다.
      */
     public PageDTO pagination(int totalPostNumber, int currentIndex) {
-        int postLimit = 10;
+        int postLimit = POST_LIMIT;
         int indexLimit = 10;
-        int maximumIndex = ((totalPostNumber-1)/postLimit) + 1;
+        int maximumIndex = Math.min(((totalPostNumber-1)/postLimit) + 1, OFFSET_PAGE_LIMIT);
 
         int startIndex = ((currentIndex-1)/10) + 1;
         int endIndex = startIndex + (indexLimit -1);
@@ -317,4 +593,55 @@ public class PostService {
         PageDTO dto = new PageDTO(startIndex, endIndex, currentIndex, totalPostNumber);
         return dto;
     }
+
+
+
+    // 목록을 조회하고, 아직 DB 에 반영되지 않은 조회수 증가분을 목록의 조회수에 더함
+    private List<PostListDTO> loadWithPendingViews(Supplier<List<PostListDTO>> loader) {
+        return viewCountBuffer.readWithPendingViews(pendingViews -> {
+            List<PostListDTO> posts = loader.get();
+            for (PostListDTO post : posts) {
+                long views = pendingViews.get(post.getPostId());
+                if (views > 0) {
+                    post.setViews(post.getViews() + (int) views);
+                }
+            }
+            return posts;
+        });
+    }
+
+    // 검색어가 있고 검색 색인이 준비된 경우에만 색인을 사용 (준비 전에는 SQL LIKE 검색)
+    private boolean useSearchIndex(PostFilterDTO dto) {
+        return dto.getKeyword() != null && !dto.getKeyword().isBlank() && searchIndex.isReady();
+    }
+
+    // 커서 기준으로 게시물 목록 조회 (prev 방향은 오름차순으로 조회되므로 화면 순서(내림차순)로 뒤집어 줌)
+    private List<PostListDTO> getPostsByCursor(PostFilterDTO dto) {
+        List<PostListDTO> posts = postDAO.getPostsByCursor(dto);
+        if (dto.isCursorPrev()) {
+            posts = new ArrayList<>(posts);
+            Collections.reverse(posts);
+        }
+        return posts;
+    }
+
+    private String encodeCursor(String direction, int postId) {
+        String raw = direction + ":" + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서를 해석하여 검색 조건에 반영합니다. 해석할 수 없는 커서라면 false 를 반환합니다.
+    private boolean applyCursor(PostFilterDTO dto, String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 2 || !(CURSOR_NEXT.equals(parts[0]) || CURSOR_PREV.equals(parts[0]))) {
+                return false;
+            }
+            dto.setCursor(Integer.parseInt(parts[1]), CURSOR_PREV.equals(parts[0]));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package com.study.connection.service;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.post.ViewCountDTO;
+import com.study.connection.service.cache.PostReadCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 게시물 조회수를 메모리에 모아 두었다가 주기적으로 DB 에 일괄 반영합니다. (write-behind)
+ * 조회할 때마다 UPDATE 를 실행하면 인기 게시물의 행 잠금이 몰리므로, 게시물별 LongAdder 로 증가분만 누적합니다.
+ * · 반영 주기 : board.views.flush-interval-ms (기본 5초)
+ * · 애플리케이션 종료 시 남은 증가분을 모두 반영합니다.
+ * · 아직 반영되지 않은 증가분은 화면의 조회수에 더합니다. 조회수를 읽는 작업은 {@link #readWithPendingViews} 로 실행하며,
+ *   작업을 시작하기 전에 반영이 끝난(UPDATE 커밋 후 캐시 무효화까지 마친) 증가분은 더하지 않고, 그 외의 반영 중인 증가분은 더합니다.
+ *   읽기는 반영을 기다리지 않습니다. (반영 직후 잠시 증가분이 두 번 더해질 수는 있지만 빠지지는 않음)
+ * · 복제 DB 에서 읽는 경우 복제 지연 동안 반영 전의 값이 캐시될 수 있으므로, 다음 반영 주기에 상세 캐시를 한 번 더 무효화합니다.
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    // 한 번의 UPDATE 문에 담을 최대 게시물 수
+    private static final int BATCH_SIZE = 500;
+    // 아직 반영이 끝나지 않은 증가분의 반영 번호
+    private static final long NOT_COMMITTED = Long.MAX_VALUE;
+
+    private final PostDAO postDAO;
+    private final PostReadCache postReadCache;
+    // 아직 DB 에 반영되지 않은 증가분
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+    // DB 에 반영 중이거나 지난 주기에 반영한 증가분 (반영에 실패한 증가분은 다음 주기에 다시 반영)
+    private final Map<Integer, FlushedViews> flushing = new ConcurrentHashMap<>();
+    // 마지막으로 반영이 끝난 반영 번호 (반영 주기의 UPDATE 마다 1 증가)
+    private volatile long committedSeq;
+    // DB 반영 중에 가상 스레드가 캐리어 스레드에 고정(pinning)되지 않도록 synchronized 대신 사용
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 지난 주기에 반영한 게시물 (복제 지연 동안 캐시된 상세를 다시 무효화)
+    private List<Integer> flushedLastTime = List.of();
+
+    public ViewCountBuffer(PostDAO postDAO, PostReadCache postReadCache) {
+        this.postDAO = postDAO;
+        this.postReadCache = postReadCache;
+    }
+
+
+    /**
+     * 게시물의 조회수를 1 증가시킵니다. DB 에는 다음 반영 주기에 기록됩니다.
+     */
+    public void increment(int postId) {
+        add(postId, 1);
+    }
+
+
+    /**
+     * 조회수(DB 또는 캐시의 값)를 읽고, 전달받은 {@link PendingViews} 로 아직 반영되지 않은 증가분을 더하는 작업을 실행합니다.
+     * 작업을 시작한 뒤에 반영이 끝난 증가분은 읽은 값에 포함되지 않았을 수 있으므로 계속 더합니다.
+     */
+    public <T> T readWithPendingViews(Function<PendingViews, T> reader) {
+        long readSeq = committedSeq;
+        return reader.apply(postId -> pendingViews(postId, readSeq));
+    }
+
+
+    /**
+     * 아직 DB 에 반영되지 않은 조회수 증가분을 반환합니다.
+     */
+    public long getPendingViews(int postId) {
+        return pendingViews(postId, committedSeq);
+    }
+
+
+    /**
+     * 누적된 조회수 증가분을 DB 에 일괄 반영합니다.
+     * 반영에 실패한 증가분은 다음 주기에 재시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${board.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+
+    // 증가분을 누적 중인 게시물 수
+    int size() {
+        return pending.size();
+    }
+
+
+    /**
+     * {@link #readWithPendingViews} 의 작업에 전달하는, 게시물별로 아직 반영되지 않은 증가분입니다.
+     */
+    @FunctionalInterface
+    public interface PendingViews {
+        long get(int postId);
+    }
+
+
+    // pending 을 먼저 읽음 (flushPending 은 flushing 에 넣은 뒤 pending 에서 빼므로, 둘 중 하나에는 항상 보임)
+    private long pendingViews(int postId, long readSeq) {
+        LongAdder adder = pending.get(postId);
+        long value = adder == null ? 0 : adder.sum();
+        FlushedViews flushed = flushing.get(postId);
+        if (flushed != null && flushed.committedSeq() > readSeq) {
+            value += flushed.delta();
+        }
+        return value;
+    }
+
+
+    private void flushPending() {
+        for (int postId : flushedLastTime) {
+            postReadCache.evictPostDetails(postId);
+        }
+
+        // 지난 주기에 반영이 끝난 증가분은 정리하고, 반영에 실패한 증가분은 다시 반영
+        flushing.values().removeIf(flushed -> flushed.committedSeq() != NOT_COMMITTED);
+        Map<Integer, Long> batch = new LinkedHashMap<>();
+        flushing.forEach((postId, flushed) -> batch.put(postId, flushed.delta()));
+
+        for (Map.Entry<Integer, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sum();
+            if (delta > 0) {
+                long total = batch.merge(entry.getKey(), delta, Long::sum);
+                flushing.put(entry.getKey(), new FlushedViews(total, NOT_COMMITTED));
+                adder.add(-delta);
+            } else if (pending.remove(entry.getKey(), adder)) {
+                // 증가분이 없는 게시물은 정리, 지우는 사이에 더해진 값은 다시 누적
+                long late = adder.sumThenReset();
+                if (late > 0) {
+                    add(entry.getKey(), late);
+                }
+            }
+        }
+
+        List<ViewCountDTO> updates = new ArrayList<>(batch.size());
+        batch.forEach((postId, delta) -> updates.add(new ViewCountDTO(postId, delta)));
+        List<Integer> flushed = new ArrayList<>();
+        for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+            List<ViewCountDTO> chunk = updates.subList(from, Math.min(updates.size(), from + BATCH_SIZE));
+            try {
+                postDAO.addViewsBatch(chunk);
+            } catch (Exception e) {
+                log.error("조회수 일괄 반영 중 오류 ({}건 재시도 예정) : {}", chunk.size(), e.getLocalizedMessage());
+                continue;
+            }
+            // 캐시된 게시물 상세의 조회수가 DB 값과 어긋나지 않도록 무효화한 뒤 반영이 끝난 것으로 표시
+            long seq = committedSeq + 1;
+            for (ViewCountDTO dto : chunk) {
+                postReadCache.evictPostDetails(dto.getPostId());
+                flushing.put(dto.getPostId(), new FlushedViews(dto.getDelta(), seq));
+                flushed.add(dto.getPostId());
+            }
+            committedSeq = seq;
+        }
+        flushedLastTime = flushed;
+    }
+
+
+    // 반영 주기에 정리(remove)된 누적기에 더했다면, 남은 값을 꺼내 새 누적기에 다시 더함
+    // (sumThenReset 은 셀마다 getAndSet 으로 가져오므로 같은 증가분을 두 번 가져가지 않음)
+    private void add(int postId, long delta) {
+        while (delta > 0) {
+            LongAdder adder = pending.computeIfAbsent(postId, key -> new LongAdder());
+            adder.add(delta);
+            if (pending.get(postId) == adder) {
+                return;
+            }
+            delta = adder.sumThenReset();
+        }
+    }
+
+
+    // 반영 중인 증가분과 반영이 끝난 반영 번호 (끝나지 않았으면 NOT_COMMITTED)
+    private record FlushedViews(long delta, long committedSeq) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.study.connection.service.cache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 최대 크기(LRU)와 만료 시간(TTL)이 있는 메모리 캐시입니다.
+ * · 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터 제거합니다.
+ * · 만료 시간이 지난 항목은 조회 시 제거하고 다시 읽어옵니다.
+ * · 값을 읽어오는 중에 무효화가 일어나면, 읽어온 (이전) 값은 캐시에 저장하지 않습니다.
+ * · {@link #holdRefill(Predicate)} 로 지정한 키는 refillDelay 동안 읽어온 값을 저장하지 않습니다.
+ *   (변경 직후 복제 DB 에서 읽은 변경 전 값이 캐시에 다시 채워지지 않도록 함)
+ * · 적중/실패/제거 횟수를 집계합니다.
+ *
+ * @param <K> 키 타입
+ * @param <V> 값 타입 (null 은 저장하지 않습니다)
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final long refillDelayNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // 무효화될 때마다 증가, 읽어오는 중에 값이 바뀌었다면 저장하지 않기 위해 사용
+    private long generation;
+    // 다시 채우지 않을 키의 조건과 그 만료 시각 (refillDelay 가 모두 같으므로 만료 시각 순서)
+    private final ArrayDeque<RefillHold<K>> refillHolds = new ArrayDeque<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize, Duration ttl) {
+        this(name, maxSize, ttl, Duration.ZERO);
+    }
+
+    /**
+     * @param refillDelay {@link #holdRefill(Predicate)} 이후 값을 다시 저장하지 않는 시간 (0 이면 사용하지 않음)
+     */
+    public BoundedCache(String name, int maxSize, Duration ttl, Duration refillDelay) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.refillDelayNanos = refillDelay.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+
+    /**
+     * 캐시에서 값을 조회하고, 없거나 만료되었다면 loader 로 읽어와 저장합니다. (read-through)
+     * loader 는 락 밖에서 실행되므로 느린 조회가 다른 키의 조회를 막지 않습니다.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && !entry.isExpired()) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+        if (value != null) {
+            synchronized (this) {
+                if (generation == loadGeneration && !isRefillHeld(key)) {
+                    entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+
+    /**
+     * 캐시에 있는 값을 반환합니다. 없거나 만료되었다면 null 을 반환합니다.
+     * 값을 loader 로 읽어올 수 없어 직접 만들어 저장하는 경우, 조회 전에 {@link #generation()} 을 기록해 두었다가
+     * {@link #put(Object, Object, long)} 에 전달합니다.
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired()) {
+            hits.increment();
+            return entry.value;
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+
+    /**
+     * 값을 저장합니다. loadGeneration 이후에 무효화가 일어났다면 (이전 값일 수 있으므로) 저장하지 않습니다.
+     */
+    public synchronized void put(K key, V value, long loadGeneration) {
+        if (value != null && generation == loadGeneration && !isRefillHeld(key)) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+
+    /**
+     * 캐시에 있는 값을 변경합니다. 캐시에 없거나 만료된 키는 무시합니다.
+     * remapping 결과가 null 이면 해당 항목을 제거합니다.
+     */
+    public synchronized void computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.isExpired()) {
+            return;
+        }
+        V value = remapping.apply(key, entry.value);
+        if (value == null) {
+            entries.remove(key);
+        } else {
+            entries.put(key, new Entry<>(value, entry.expiresAt));
+        }
+        generation++;
+    }
+
+
+    /**
+     * 조건에 맞는 모든 항목의 값을 변경하거나(null 반환 시) 제거합니다.
+     */
+    public synchronized void updateAll(BiFunction<? super K, ? super V, ? extends V> remapping) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, Entry<V>> entry = iterator.next();
+            V value = remapping.apply(entry.getKey(), entry.getValue().value);
+            if (value == null) {
+                iterator.remove();
+            } else {
+                entry.setValue(new Entry<>(value, entry.getValue().expiresAt));
+            }
+        }
+        generation++;
+    }
+
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+
+    public synchronized void invalidateIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+        generation++;
+    }
+
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+
+    /**
+     * 조건에 맞는 키는 지금부터 refillDelay 동안 읽어온 값을 저장하지 않습니다. (이미 저장된 값은 그대로)
+     * DB 변경으로 무효화한 직후, 아직 변경이 반영되지 않은 복제 DB 에서 읽은 값이 만료 시간 동안 남지 않도록 무효화와 함께 호출합니다.
+     */
+    public synchronized void holdRefill(Predicate<? super K> predicate) {
+        if (refillDelayNanos > 0) {
+            refillHolds.addLast(new RefillHold<>(predicate, System.nanoTime() + refillDelayNanos));
+        }
+    }
+
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+
+    // 호출하는 쪽에서 락을 잡고 있어야 함
+    private boolean isRefillHeld(K key) {
+        long now = System.nanoTime();
+        while (!refillHolds.isEmpty() && now - refillHolds.peekFirst().until() > 0) {
+            refillHolds.removeFirst();
+        }
+        for (RefillHold<K> hold : refillHolds) {
+            if (hold.predicate().test(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private record RefillHold<K>(Predicate<? super K> predicate, long until) {
+    }
+
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
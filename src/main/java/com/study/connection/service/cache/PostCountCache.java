@@ -0,0 +1,211 @@
+package com.study.connection.service.cache;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.datasource.ReadRoutingContext;
+import com.study.connection.datasource.ReplicaStatus;
+import com.study.connection.dto.filter.CategoryCountDTO;
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.service.event.PostChangedEvent;
+import com.study.connection.service.event.PostsImportedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 게시물 목록의 전체 건수(countAllPosts) 캐시입니다.
+ * 목록을 볼 때마다 검색 조건으로 COUNT(*) 를 다시 실행하지 않도록, 정규화한 검색 조건별로 건수를 저장합니다.
+ * · 최대 크기 / 만료 시간 : board.count.cache.max-size / board.count.cache.ttl-seconds
+ * · 게시물 등록 시 조건에 맞는 항목은 +1 하고, 수정/삭제 시 영향을 받을 수 있는 항목은 무효화합니다.
+ * · board.count.approximate=true 이면, 검색어/날짜 조건이 없는 목록(전체, 카테고리별)은
+ *   메모리에서 유지하는 카테고리별 게시물 수를 사용합니다. (주기적으로 DB 와 다시 맞춤)
+ * · 복제 DB 를 사용하면, 게시물 변경으로 영향을 받는 항목은 복제 지연 한도(board.datasource.replica.max-lag-seconds) 동안
+ *   다시 채우지 않고, 주 DB 고정 요청({@link ReadRoutingContext})은 캐시를 거치지 않고 COUNT 쿼리를 실행합니다.
+ */
+@Slf4j
+@Component
+public class PostCountCache {
+
+    private final PostDAO postDAO;
+    private final BoundedCache<CountKey, Integer> cache;
+    private final boolean approximate;
+
+    // 카테고리 ID → 게시물 수 (approximate 모드에서 사용)
+    private final Map<Integer, AtomicInteger> categoryCounts = new ConcurrentHashMap<>();
+    private volatile boolean countersReady;
+
+    public PostCountCache(PostDAO postDAO,
+                          ObjectProvider<ReplicaStatus> replicaStatus,
+                          @Value("${board.count.cache.max-size:1000}") int maxSize,
+                          @Value("${board.count.cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${board.count.approximate:false}") boolean approximate) {
+        this.postDAO = postDAO;
+        Duration refillDelay = replicaStatus.stream().map(ReplicaStatus::getMaxLag).findFirst().orElse(Duration.ZERO);
+        this.cache = new BoundedCache<>("postCount", maxSize, Duration.ofSeconds(ttlSeconds), refillDelay);
+        this.approximate = approximate;
+    }
+
+
+    /**
+     * 검색 조건에 맞는 전체 게시물 수를 반환합니다.
+     * 캐시에 없으면 loader(COUNT 쿼리)로 읽어와 저장합니다.
+     *
+     * @param filter 검색 조건
+     * @param loader 캐시에 없을 때 실행할 COUNT 쿼리
+     */
+    public int getCount(PostFilterDTO filter, Supplier<Integer> loader) {
+        CountKey key = CountKey.of(filter);
+        if (approximate && countersReady && key.isCounterOnly()) {
+            return approximateCount(key.categoryId());
+        }
+        Integer count = ReadRoutingContext.isPrimaryOnly() ? loader.get() : cache.get(key, k -> loader.get());
+        return count == null ? 0 : count;
+    }
+
+
+    /**
+     * 게시물 변경에 따라 캐시된 건수와 카테고리별 게시물 수를 갱신합니다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> {
+                String today = LocalDate.now().toString();
+                // 검색어 조건은 새 글이 포함되는지 알 수 없으므로 무효화, 그 외에는 조건에 맞으면 +1
+                cache.updateAll((key, count) -> {
+                    if (key.keyword() != null) {
+                        return null;
+                    }
+                    return key.matches(event.getCategoryId(), today) ? count + 1 : count;
+                });
+                // 캐시에 없던 항목을 복제 DB 에서 다시 읽으면 새 글이 빠져 있을 수 있음
+                cache.holdRefill(key -> key.keyword() != null || key.matches(event.getCategoryId(), today));
+                adjustCounter(event.getCategoryId(), 1);
+            }
+            case UPDATED -> {
+                Predicate<CountKey> affected;
+                if (event.getCategoryId() != event.getPreviousCategoryId()) {
+                    affected = key -> key.keyword() != null
+                            || key.categoryId() == event.getCategoryId()
+                            || key.categoryId() == event.getPreviousCategoryId();
+                    adjustCounter(event.getPreviousCategoryId(), -1);
+                    adjustCounter(event.getCategoryId(), 1);
+                } else {
+                    affected = key -> key.keyword() != null;
+                }
+                cache.invalidateIf(affected);
+                cache.holdRefill(affected);
+            }
+            case DELETED -> {
+                // 삭제된 글의 등록일은 알 수 없으므로, 같은 카테고리(또는 전체)를 대상으로 하는 항목은 무효화
+                Predicate<CountKey> affected = key -> key.keyword() != null
+                        || key.categoryId() == 0
+                        || key.categoryId() == event.getCategoryId();
+                cache.invalidateIf(affected);
+                cache.holdRefill(affected);
+                adjustCounter(event.getCategoryId(), -1);
+            }
+        }
+    }
+
+
+    /**
+     * 게시물을 일괄로 가져온 뒤에는 어떤 조건의 건수가 바뀌었는지 알 수 없으므로 전부 무효화합니다.
+     */
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        cache.invalidateAll();
+        cache.holdRefill(key -> true);
+        resyncCounters();
+    }
+
+
+    /**
+     * 카테고리별 게시물 수를 DB 에서 다시 읽어옵니다. (approximate 모드)
+     * 애플리케이션 시작 시, 그리고 오차가 쌓이지 않도록 주기적으로 실행합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${board.count.approximate-resync-ms:600000}",
+               fixedDelayString = "${board.count.approximate-resync-ms:600000}")
+    public void resyncCounters() {
+        if (!approximate) {
+            return;
+        }
+        try {
+            for (CategoryCountDTO dto : postDAO.countPostsByCategory()) {
+                categoryCounts.computeIfAbsent(dto.getCategoryId(), key -> new AtomicInteger())
+                        .set(dto.getPostCount());
+            }
+            countersReady = true;
+        } catch (Exception e) {
+            log.error("카테고리별 게시물 수 조회 중 오류 : {}", e.getLocalizedMessage());
+        }
+    }
+
+
+    public BoundedCache<?, ?> getCache() {
+        return cache;
+    }
+
+
+    private int approximateCount(int categoryId) {
+        if (categoryId != 0) {
+            AtomicInteger counter = categoryCounts.get(categoryId);
+            return counter == null ? 0 : Math.max(0, counter.get());
+        }
+        int total = 0;
+        for (AtomicInteger counter : categoryCounts.values()) {
+            total += counter.get();
+        }
+        return Math.max(0, total);
+    }
+
+    private void adjustCounter(int categoryId, int delta) {
+        if (approximate && categoryId != 0) {
+            categoryCounts.computeIfAbsent(categoryId, key -> new AtomicInteger()).addAndGet(delta);
+        }
+    }
+
+
+    /**
+     * 정규화한 검색 조건입니다. SQL 조건과 같이 날짜는 시작/종료일이 모두 있을 때만, 검색어는 공백이 아닐 때만 사용합니다.
+     */
+    record CountKey(String startDate, String endDate, int categoryId, String keyword) {
+
+        static CountKey of(PostFilterDTO filter) {
+            boolean hasDate = filter.getStartDate() != null && filter.getEndDate() != null
+                    && !filter.getStartDate().isEmpty() && !filter.getEndDate().isEmpty();
+            String keyword = filter.getKeyword() == null || filter.getKeyword().isEmpty()
+                    ? null : filter.getKeyword().toLowerCase(Locale.ROOT);
+            return new CountKey(hasDate ? filter.getStartDate() : null, hasDate ? filter.getEndDate() : null,
+                    filter.getCategoryId(), keyword);
+        }
+
+        // 메모리 카운터만으로 건수를 알 수 있는 조건 (전체 또는 카테고리별)
+        boolean isCounterOnly() {
+            return startDate == null && keyword == null;
+        }
+
+        // 검색어 조건이 없는 항목에 대해, 해당 카테고리/등록일의 게시물이 포함되는지 확인
+        boolean matches(int postCategoryId, String createdDate) {
+            if (categoryId != 0 && categoryId != postCategoryId) {
+                return false;
+            }
+            return startDate == null
+                    || (createdDate.compareTo(startDate) >= 0 && createdDate.compareTo(endDate) <= 0);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.study.connection.service.cache;
+
+import com.study.connection.datasource.ReadRoutingContext;
+import com.study.connection.datasource.ReplicaStatus;
+import com.study.connection.dto.file.FileMetadataDTO;
+import com.study.connection.dto.filter.CategoryDTO;
+import com.study.connection.dto.post.PostArticleDTO;
+import com.study.connection.service.event.PostChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 게시물 상세, 첨부파일 메타데이터, 카테고리 목록의 read-through 캐시입니다.
+ * 게시물 상세 화면과 수정 폼은 대부분 DB 조회 없이 캐시에서 응답합니다.
+ * · 게시물이 수정/삭제되면({@link PostChangedEvent}) 해당 게시물의 상세와 첨부파일 캐시를 무효화합니다.
+ * · 첨부파일이 추가/삭제되면 {@link #evictFileMeta(int)} 로 첨부파일 캐시를 무효화합니다.
+ * · 조회수가 DB 에 반영되면 {@link #evictPostDetails(int)} 로 상세 캐시를 무효화하여 조회수가 어긋나지 않게 합니다.
+ * · 복제 DB 를 사용하면, 게시물/첨부파일 변경으로 무효화한 항목은 복제 지연 한도(board.datasource.replica.max-lag-seconds) 동안
+ *   다시 채우지 않고, 주 DB 고정 요청({@link ReadRoutingContext})은 캐시를 거치지 않고 주 DB 에서 읽습니다.
+ */
+@Component
+public class PostReadCache {
+
+    private static final String CATEGORY_KEY = "all";
+
+    private final BoundedCache<Integer, PostArticleDTO> postDetails;
+    private final BoundedCache<Integer, List<FileMetadataDTO>> fileMeta;
+    private final BoundedCache<String, List<CategoryDTO>> categories;
+
+    public PostReadCache(ObjectProvider<ReplicaStatus> replicaStatus,
+                         @Value("${board.cache.post.max-size:10000}") int postMaxSize,
+                         @Value("${board.cache.post.ttl-seconds:300}") long postTtlSeconds,
+                         @Value("${board.cache.category.ttl-seconds:3600}") long categoryTtlSeconds) {
+        Duration refillDelay = replicaStatus.stream().map(ReplicaStatus::getMaxLag).findFirst().orElse(Duration.ZERO);
+        this.postDetails = new BoundedCache<>("postDetails", postMaxSize, Duration.ofSeconds(postTtlSeconds), refillDelay);
+        this.fileMeta = new BoundedCache<>("fileMeta", postMaxSize, Duration.ofSeconds(postTtlSeconds), refillDelay);
+        this.categories = new BoundedCache<>("categories", 1, Duration.ofSeconds(categoryTtlSeconds));
+    }
+
+
+    /**
+     * 게시물 상세를 캐시에서 조회합니다. 호출한 쪽에서 조회수 등을 변경할 수 있도록 복사본을 반환합니다.
+     *
+     * @return 게시물이 없으면 null
+     */
+    public PostArticleDTO getPostDetails(int postId, Function<Integer, PostArticleDTO> loader) {
+        if (ReadRoutingContext.isPrimaryOnly()) {
+            return loader.apply(postId);
+        }
+        PostArticleDTO cached = postDetails.get(postId, loader);
+        if (cached == null) {
+            return null;
+        }
+        return new PostArticleDTO(cached.getPostId(), cached.getTitle(), cached.getContent(), cached.getWriter(),
+                cached.getViews(), cached.getCategoryName(), cached.getCreatedAt(), cached.getUpdatedAt());
+    }
+
+
+    public List<FileMetadataDTO> getFileMeta(int postId, Function<Integer, List<FileMetadataDTO>> loader) {
+        if (ReadRoutingContext.isPrimaryOnly()) {
+            return loader.apply(postId);
+        }
+        return fileMeta.get(postId, key -> List.copyOf(loader.apply(key)));
+    }
+
+
+    public List<CategoryDTO> getCategories(Supplier<List<CategoryDTO>> loader) {
+        return categories.get(CATEGORY_KEY, key -> List.copyOf(loader.get()));
+    }
+
+
+    public void evictPostDetails(int postId) {
+        postDetails.invalidate(postId);
+    }
+
+
+    public void evictFileMeta(int postId) {
+        Integer key = postId;
+        fileMeta.invalidate(key);
+        fileMeta.holdRefill(key::equals);
+    }
+
+
+    public void evictCategories() {
+        categories.invalidateAll();
+    }
+
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getType() != PostChangedEvent.Type.CREATED) {
+            Integer key = event.getPostId();
+            postDetails.invalidate(key);
+            postDetails.holdRefill(key::equals);
+            evictFileMeta(key);
+        }
+    }
+
+
+    public List<BoundedCache<?, ?>> getCaches() {
+        return List.of(postDetails, fileMeta, categories);
+    }
+}
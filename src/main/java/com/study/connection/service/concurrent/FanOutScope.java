@@ -0,0 +1,129 @@
+package com.study.connection.service.concurrent;
+
+import com.study.connection.datasource.ReadRoutingContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 한 요청 안에서 서로 독립적인 조회를 {@link PageFanOut} 의 작업 스레드로 동시에 실행하는 범위(scope)입니다.
+ * JDK 21 의 StructuredTaskScope.ShutdownOnFailure 와 같은 방식으로 동작하지만, preview API 는 사용하지 않습니다.
+ * · fork 한 작업 중 하나라도 실패하면 나머지 작업을 취소(interrupt)하고, join 에서 첫 번째 예외를 다시 던집니다.
+ * · join 이 제한 시간 안에 끝나지 않으면 남은 작업을 모두 취소하고 예외를 던집니다.
+ * · try-with-resources 로 사용하며, 범위를 벗어날 때 끝나지 않은 작업은 모두 취소됩니다.
+ * · 요청 스레드의 주 DB 고정 상태({@link ReadRoutingContext})는 fork 한 작업에도 전달됩니다.
+ * · 작업 스레드가 모두 사용 중이면 fork 한 작업은 요청 스레드에서 바로 실행되며, 이 작업은 취소되지 않습니다.
+ *
+ * <pre>
+ * try (FanOutScope scope = pageFanOut.open()) {
+ *     Supplier&lt;A&gt; a = scope.fork(() -&gt; ...);
+ *     Supplier&lt;B&gt; b = scope.fork(() -&gt; ...);
+ *     scope.join();
+ *     a.get(); b.get();
+ * }
+ * </pre>
+ */
+public class FanOutScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final long timeoutNanos;
+    private final List<Future<?>> futures = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    FanOutScope(ExecutorService executor, Duration timeout) {
+        this.executor = executor;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+
+    /**
+     * 작업을 작업 스레드에서 실행합니다. (작업 스레드가 모두 사용 중이면 요청 스레드에서 바로 실행)
+     *
+     * @return join 이 성공한 뒤에 작업 결과를 반환하는 Supplier
+     */
+    public <T> Supplier<T> fork(Callable<? extends T> task) {
+        Callable<? extends T> routedTask = ReadRoutingContext.propagate(task);
+        Future<T> future = executor.submit(() -> {
+            try {
+                return routedTask.call();
+            } catch (Throwable e) {
+                if (failure.compareAndSet(null, e)) {
+                    cancelAll();
+                }
+                throw e;
+            }
+        });
+        futures.add(future);
+        if (failure.get() != null) {
+            future.cancel(true);
+        }
+        return future::resultNow;
+    }
+
+
+    /**
+     * fork 한 작업이 모두 끝날 때까지 기다립니다.
+     * 실패한 작업이 있으면 그 예외(RuntimeException / Error 는 그대로, 그 외에는 CompletionException 으로 감싸서)를 던집니다.
+     */
+    public void join() {
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            for (Future<?> future : futures) {
+                if (failure.get() != null) {
+                    break;
+                }
+                try {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, e.getCause());
+                } catch (CancellationException e) {
+                    // 다른 작업의 실패로 취소된 작업
+                }
+            }
+        } catch (TimeoutException e) {
+            fail(new TimeoutException("제한 시간(" + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms) 초과"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        }
+
+        Throwable cause = failure.get();
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause != null) {
+            throw new CompletionException(cause);
+        }
+    }
+
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+
+    private void fail(Throwable cause) {
+        failure.compareAndSet(null, cause);
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
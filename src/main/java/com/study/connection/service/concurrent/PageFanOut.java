@@ -0,0 +1,59 @@
+package com.study.connection.service.concurrent;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 화면 하나를 구성하는 서로 독립적인 조회(목록과 카테고리, 게시물 상세와 첨부파일 등)를 동시에 실행합니다.
+ * 화면 응답 시간은 각 조회 시간의 합이 아니라 가장 느린 조회 시간에 가까워집니다.
+ * · 동시에 실행하는 조회는 각자 커넥션을 사용하므로, 작업 스레드 수(board.page.fan-out-threads)로 동시 실행 수를 제한합니다.
+ *   작업 스레드가 모두 사용 중이면 대기열에 넣지 않고 요청 스레드에서 바로 실행합니다. (동시 실행 없이 차례로 조회)
+ * · 제한 시간 : board.page.fan-out-timeout-ms
+ */
+@Component
+public class PageFanOut {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PageFanOut(@Value("${board.page.fan-out-threads:8}") int threads,
+                      @Value("${board.page.fan-out-timeout-ms:5000}") long timeoutMs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, threads, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "page-fan-out-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("종료 중에는 조회를 실행할 수 없습니다.");
+                    }
+                    runnable.run();
+                });
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+
+    /**
+     * 새 범위를 엽니다. try-with-resources 로 사용합니다.
+     */
+    public FanOutScope open() {
+        return new FanOutScope(executor, timeout);
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
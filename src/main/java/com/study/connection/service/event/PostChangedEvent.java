@@ -0,0 +1,22 @@
+package com.study.connection.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시물이 등록/수정/삭제되었을 때 발행되는 이벤트입니다.
+ * 캐시처럼 게시물 변경에 따라 갱신되어야 하는 컴포넌트가 {@code @EventListener} 로 받아 처리합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    private final Type type;
+    private final int postId;
+    // 변경 후 카테고리 (삭제 시에는 삭제된 게시물의 카테고리)
+    private final int categoryId;
+    // 변경 전 카테고리 (등록 시에는 0)
+    private final int previousCategoryId;
+}
@@ -0,0 +1,16 @@
+package com.study.connection.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시물 일괄 가져오기가 끝났을 때 발행되는 이벤트입니다.
+ * 게시물마다 {@link PostChangedEvent} 를 발행하지 않으므로, 게시물 변경에 따라 갱신되는 컴포넌트는
+ * 이 이벤트를 받아 캐시 전체를 무효화하거나 다시 읽어옵니다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostsImportedEvent {
+
+    private final long importedCount;
+}
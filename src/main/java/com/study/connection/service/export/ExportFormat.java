@@ -0,0 +1,42 @@
+package com.study.connection.service.export;
+
+import java.util.Arrays;
+
+/**
+ * 게시물 내보내기 형식입니다.
+ * · CSV : 엑셀에서 바로 열 수 있도록 UTF-8 BOM 을 붙임
+ * · NDJSON : 한 줄에 게시물 하나(JSON 객체)
+ */
+public enum ExportFormat {
+
+    CSV("csv", "text/csv; charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson; charset=UTF-8");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 요청 파라미터(csv, ndjson)에 해당하는 형식을 찾습니다.
+     *
+     * @return 없으면 null
+     */
+    public static ExportFormat of(String extension) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(extension))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,221 @@
+package com.study.connection.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.post.PostListDTO;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 조건에 맞는 게시물 전체를 CSV 또는 NDJSON 으로 내보냅니다.
+ * MyBatis {@link Cursor} 로 한 행씩 읽어 바로 출력 스트림에 쓰므로,
+ * 내보내는 건수와 관계없이 메모리에는 읽고 있는 행과 출력 버퍼만 남습니다.
+ * · 내보내는 동안 커넥션 하나를 점유하므로, 동시에 실행할 수 있는 내보내기 수(board.export.max-concurrent)를 제한하고
+ *   한 번의 내보내기는 board.export.timeout-seconds 안에 끝나야 함 (느린 클라이언트가 커넥션을 계속 붙잡지 않도록)
+ * · 목록 화면과 달리 검색어는 검색 색인이 아니라 DB 의 LIKE 조건으로 찾음 (색인은 ID 목록 전체를 메모리에 만들어야 함)
+ * · 조회수는 DB 에 반영된 값이며, 아직 반영되지 않은 증가분(ViewCountBuffer)은 포함하지 않음
+ */
+@Component
+public class PostExportService {
+
+    private static final String[] CSV_HEADER = {
+            "postId", "title", "writer", "views", "categoryName", "createdAt", "updatedAt", "fileExist"};
+    private static final char UTF8_BOM = '\uFEFF';
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PostDAO postDAO;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+    private final long timeoutNanos;
+
+    public PostExportService(PostDAO postDAO, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             @Value("${board.export.max-concurrent:2}") int maxConcurrent,
+                             @Value("${board.export.timeout-seconds:300}") int timeoutSeconds) {
+        this.postDAO = postDAO;
+        this.objectMapper = objectMapper;
+        // 커서는 트랜잭션(SqlSession)이 열려 있는 동안만 읽을 수 있음, 읽기 전용이므로 복제 DB 로 라우팅됨
+        // 트랜잭션 제한 시간은 MyBatis 가 쿼리 제한 시간(queryTimeout)으로도 적용함
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout(timeoutSeconds);
+        this.permits = new Semaphore(maxConcurrent);
+        this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    }
+
+
+    /**
+     * 내보내기 실행 권한을 얻습니다. 기다리지 않으며, 얻었다면 내보내기가 끝난 뒤 {@link #release} 를 호출해야 합니다.
+     *
+     * @return 동시에 실행 중인 내보내기가 제한에 도달했으면 false
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+
+    /**
+     * {@link #tryAcquire} 로 얻은 실행 권한을 반납합니다.
+     */
+    public void release() {
+        permits.release();
+    }
+
+
+    /**
+     * 검색 조건에 맞는 게시물을 최신 글부터 지정한 형식으로 출력 스트림에 씁니다.
+     * 출력 스트림은 닫지 않으며, {@link #tryAcquire} 로 실행 권한을 얻은 뒤에 호출합니다.
+     *
+     * @return 내보낸 게시물 수
+     * @throws IOException 출력 중 오류 (클라이언트 연결 끊김 포함)
+     * @throws TransactionTimedOutException board.export.timeout-seconds 안에 끝나지 않은 경우 (이미 쓴 내용은 불완전함)
+     */
+    public long export(PostFilterDTO filterDTO, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        try {
+            long deadline = System.nanoTime() + timeoutNanos;
+            Long count = readOnlyTransaction.execute(status -> {
+                long written = 0;
+                try (Cursor<PostListDTO> cursor = postDAO.exportPosts(filterDTO)) {
+                    rowWriter.begin();
+                    for (PostListDTO post : cursor) {
+                        // 쿼리 제한 시간은 첫 행을 받을 때까지만 적용되므로, 행을 읽는 동안의 시간은 직접 확인
+                        if (System.nanoTime() - deadline > 0) {
+                            throw new TransactionTimedOutException("게시물 내보내기 제한 시간 초과 : " + written + "건까지 출력");
+                        }
+                        rowWriter.write(post);
+                        written++;
+                    }
+                    rowWriter.end();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+            writer.flush();
+            return count == null ? 0 : count;
+
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(PostListDTO post) throws IOException;
+
+        void end() throws IOException;
+    }
+
+
+    /**
+     * RFC 4180 형식의 CSV 를 씁니다.
+     * 쉼표, 따옴표, 줄바꿈이 있는 값은 따옴표로 감싸고,
+     * =, +, -, @, 탭, CR 로 시작하는 값은 엑셀에서 수식으로 실행되지 않도록 앞에 ' 를 붙입니다.
+     */
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(UTF8_BOM);
+            writeRow(CSV_HEADER);
+        }
+
+        @Override
+        public void write(PostListDTO post) throws IOException {
+            writeRow(String.valueOf(post.getPostId()), post.getTitle(), post.getWriter(),
+                    String.valueOf(post.getViews()), post.getCategoryName(), post.getCreatedAt(),
+                    post.getUpdatedAt(), String.valueOf(post.isFileExist()));
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private void writeRow(String... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(values[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeCell(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            char first = value.charAt(0);
+            boolean formula = first == '=' || first == '+' || first == '-' || first == '@'
+                    || first == '\t' || first == '\r';
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+
+    /**
+     * 한 줄에 게시물 하나(JSON 객체)를 씁니다.
+     */
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(PostListDTO post) throws IOException {
+            generator.writeObject(post);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            generator.flush();
+        }
+    }
+}
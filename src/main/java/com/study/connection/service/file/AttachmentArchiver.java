@@ -0,0 +1,120 @@
+package com.study.connection.service.file;
+
+import com.study.connection.dto.file.FileDownloadDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 게시물의 첨부파일들을 ZIP 으로 묶어 출력 스트림에 바로 씁니다.
+ * 임시 파일을 만들거나 파일 내용을 메모리에 모두 읽지 않으므로, 첨부파일 수와 크기에 관계없이 메모리 사용량이 일정합니다.
+ * · 이미 압축된 형식(이미지, 동영상, 음성, zip/gz/7z, pdf, Office 문서 등)은 압축하지 않고 그대로 담습니다.
+ *   STORED 방식은 항목을 쓰기 전에 CRC 를 알아야 해서 파일을 두 번 읽어야 하므로, 압축 수준 0 의 DEFLATED 로 한 번만 읽습니다.
+ * · ZIP 안의 파일명이 겹치면 "이름 (1).확장자" 처럼 번호를 붙입니다. (대소문자 구분 없이 비교)
+ */
+@Slf4j
+@Component
+public class AttachmentArchiver {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+            "application/x-rar-compressed", "application/vnd.rar", "application/x-bzip2", "application/x-xz",
+            "application/pdf", "application/epub+zip", "application/java-archive");
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "avif",
+            "mp4", "mov", "avi", "mkv", "webm", "mp3", "m4a", "aac", "ogg", "flac",
+            "zip", "gz", "tgz", "7z", "rar", "bz2", "xz", "jar", "pdf", "epub",
+            "docx", "xlsx", "pptx", "hwpx", "odt", "ods", "odp");
+
+
+    /**
+     * 첨부파일들을 순서대로 ZIP 항목으로 씁니다. 디스크에 없는 파일은 건너뜁니다.
+     * 출력 스트림은 닫지 않습니다.
+     *
+     * @return ZIP 에 담은 파일 수
+     * @throws IOException 출력 중 오류 (클라이언트 연결 끊김 포함)
+     */
+    public int write(List<FileDownloadDTO> files, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        Set<String> usedNames = new HashSet<>();
+        int written = 0;
+
+        for (FileDownloadDTO file : files) {
+            Path path = Paths.get(file.getFilePath());
+            if (!Files.isRegularFile(path)) {
+                log.error("File not found: {}", file.getFileName());
+                continue;
+            }
+
+            zip.setLevel(isCompressed(file) ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+            ZipEntry entry = new ZipEntry(uniqueName(entryName(file.getFileName()), usedNames));
+            entry.setLastModifiedTime(Files.getLastModifiedTime(path));
+            zip.putNextEntry(entry);
+            Files.copy(path, zip);
+            zip.closeEntry();
+            written++;
+        }
+
+        // 중앙 디렉토리를 쓰고 버퍼를 비움, 응답 스트림은 서블릿 컨테이너가 닫음
+        zip.finish();
+        zip.flush();
+        return written;
+    }
+
+
+    private static boolean isCompressed(FileDownloadDTO file) {
+        String contentType = file.getContentType() == null ? "" : file.getContentType().toLowerCase(Locale.ROOT);
+        if (contentType.startsWith("video/") || contentType.startsWith("audio/")
+                || (contentType.startsWith("image/") && !contentType.equals("image/svg+xml")
+                    && !contentType.equals("image/bmp") && !contentType.equals("image/tiff"))
+                || COMPRESSED_TYPES.contains(contentType)
+                || contentType.startsWith("application/vnd.openxmlformats-officedocument.")) {
+            return true;
+        }
+        String fileName = file.getFileName() == null ? "" : file.getFileName();
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+
+    // 압축 해제 시 다른 디렉토리에 풀리지 않도록 경로 구분자와 제어 문자를 바꿈
+    private static String entryName(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            return "file";
+        }
+        String name = fileName.replaceAll("[/\\\\:\\p{Cntrl}]", "_").strip();
+        return name.isEmpty() || name.equals(".") || name.equals("..") ? "file" : name;
+    }
+
+
+    // 이미 사용한 이름이면 확장자 앞에 (1), (2) ... 를 붙임
+    private static String uniqueName(String name, Set<String> usedNames) {
+        if (usedNames.add(name.toLowerCase(Locale.ROOT))) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        for (int i = 1; ; i++) {
+            String candidate = base + " (" + i + ")" + extension;
+            if (usedNames.add(candidate.toLowerCase(Locale.ROOT))) {
+                return candidate;
+            }
+        }
+    }
+}
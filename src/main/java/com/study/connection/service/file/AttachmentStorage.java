@@ -0,0 +1,301 @@
+package com.study.connection.service.file;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.file.StoredFileDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 첨부파일을 내용 주소(content-addressed) 방식으로 디스크에 저장합니다.
+ * 파일은 SHA-256 해시를 이름으로 하는 경로(objects/ab/abcdef...)에 한 번만 저장되고,
+ * 같은 내용의 파일이 다시 업로드되면 파일을 새로 쓰지 않고 메타데이터만 추가합니다.
+ * · 업로드된 파일은 메모리에 모두 올리지 않고 임시 파일에 스트림으로 저장하면서 크기와 해시를 계산한 뒤,
+ *   fsync 하고 최종 경로로 원자적으로 이동합니다. 이후에 메타데이터를 DB 에 기록합니다.
+ * · 참조 수는 file 테이블의 content_hash 로 계산하며, 마지막 참조가 삭제될 때만 실제 파일을 삭제합니다.
+ * · 방금 업로드되어 아직 메타데이터가 커밋되지 않은 파일을 지우지 않도록, 최근에 저장(또는 재사용)된 파일은
+ *   바로 지우지 않고 주기적인 정리 작업({@link #sweepOrphans()})에서 삭제합니다.
+ * · 이미지 축소본은 첨부파일 ID 별 디렉토리(variants/12/12345/thumb.jpg)에 저장하고, 첨부파일 메타데이터와 함께 삭제합니다.
+ */
+@Slf4j
+@Component
+public class AttachmentStorage {
+
+    private static final String OBJECT_DIR = "objects";
+    private static final String TEMP_DIR = "tmp";
+    private static final String VARIANT_DIR = "variants";
+
+    private final PostDAO postDAO;
+    private final String uploadDir;
+    private final Duration deleteGracePeriod;
+
+    public AttachmentStorage(PostDAO postDAO,
+                             @Value("${board.upload.dir:src/main/resources/upload/file1/}") String uploadDir,
+                             @Value("${board.upload.delete-grace-minutes:60}") long deleteGraceMinutes) {
+        this.postDAO = postDAO;
+        this.uploadDir = uploadDir.endsWith("/") ? uploadDir : uploadDir + "/";
+        this.deleteGracePeriod = Duration.ofMinutes(deleteGraceMinutes);
+    }
+
+
+    /**
+     * 첨부파일을 저장합니다. 같은 내용의 파일이 이미 있으면 새로 쓰지 않습니다.
+     *
+     * @param file 업로드된 파일
+     * @return {@link StoredFileDTO} 저장 경로, 실제 크기, SHA-256, 기존 파일 재사용 여부
+     * @throws IOException 저장 중 오류가 발생한 경우 (임시 파일은 삭제됨)
+     */
+    public StoredFileDTO store(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return store(in);
+        }
+    }
+
+
+    /**
+     * 스트림의 내용을 저장합니다. 같은 내용의 파일이 이미 있으면 새로 쓰지 않습니다.
+     * 스트림은 저장이 끝나면 닫힙니다.
+     */
+    public StoredFileDTO store(InputStream in) throws IOException {
+        Path tempDir = Paths.get(uploadDir, TEMP_DIR);
+        Files.createDirectories(tempDir);
+
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream digestIn = new DigestInputStream(in, digest);
+                 FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = Channels.newOutputStream(channel);
+                size = digestIn.transferTo(out);
+                channel.force(true);
+            }
+            return commit(temp, HexFormat.of().formatHex(digest.digest()), size);
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    /**
+     * 다른 경로(업로드 세션 등)에서 다 받은 파일을 저장합니다. 같은 내용의 파일이 이미 있으면 새로 쓰지 않습니다.
+     * 원본 파일은 저장 경로로 이동되거나 삭제되며, 업로드 디렉토리와 같은 파일 시스템에 있어야 합니다.
+     *
+     * @param source 다 받은 파일 (fsync 된 상태)
+     * @param contentHash 파일의 SHA-256
+     * @return {@link StoredFileDTO} 저장 경로, 실제 크기, SHA-256, 기존 파일 재사용 여부
+     */
+    public StoredFileDTO storeCompleted(Path source, String contentHash) throws IOException {
+        try {
+            return commit(source, contentHash, Files.size(source));
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+
+    /**
+     * 첨부파일 메타데이터가 삭제된 뒤 호출합니다.
+     * content_hash 가 없는 (이전 방식으로 저장된) 파일은 바로 삭제하고,
+     * 그 외에는 더 이상 참조하는 메타데이터가 없고 최근에 저장되지 않은 경우에만 삭제합니다.
+     *
+     * @param filePath 파일 경로
+     * @param contentHash 파일의 SHA-256 (없으면 null)
+     */
+    public void release(String filePath, String contentHash) {
+        try {
+            Path path = Paths.get(filePath);
+            if (contentHash == null) {
+                Files.deleteIfExists(path);
+                return;
+            }
+            if (postDAO.countFilesByHash(contentHash) == 0 && isPastGracePeriod(path)) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.error("첨부파일 삭제 중 오류 : {}", filePath, e);
+        }
+    }
+
+
+    /**
+     * 첨부파일의 축소본을 저장합니다. 임시 파일에 쓰고 fsync 한 뒤 최종 경로로 원자적으로 이동하므로,
+     * 쓰는 도중의 파일이 응답되지 않습니다. 같은 축소본이 있으면 덮어씁니다.
+     *
+     * @param fileId 원본 첨부파일 ID
+     * @param fileName 축소본 파일명 (thumb.jpg 등)
+     * @param writer 축소본 내용을 스트림에 쓰는 작업
+     * @return {@link StoredFileDTO} 저장 경로와 크기 (contentHash 는 null)
+     */
+    public StoredFileDTO storeVariant(int fileId, String fileName, VariantWriter writer) throws IOException {
+        Path tempDir = Paths.get(uploadDir, TEMP_DIR);
+        Files.createDirectories(tempDir);
+
+        Path temp = Files.createTempFile(tempDir, "variant-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writer.write(Channels.newOutputStream(channel));
+                channel.force(true);
+            }
+            Path target = variantDir(fileId).resolve(fileName);
+            Files.createDirectories(target.getParent());
+            long size = Files.size(temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new StoredFileDTO(target.toString(), size, null, false);
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+
+    /**
+     * 첨부파일의 축소본을 모두 삭제합니다. 첨부파일 메타데이터가 삭제된 뒤 호출합니다.
+     */
+    public void releaseVariants(int fileId) {
+        Path dir = variantDir(fileId);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            for (Path path : paths.toList()) {
+                Files.deleteIfExists(path);
+            }
+            Files.deleteIfExists(dir);
+        } catch (IOException e) {
+            log.error("첨부파일 축소본 삭제 중 오류 : {}", dir, e);
+        }
+    }
+
+
+    /**
+     * 참조하는 메타데이터가 없는 파일을 정리합니다.
+     * release 시점에 유예 기간 때문에 남겨 둔 파일과, 메타데이터 기록에 실패한 파일이 대상입니다.
+     * 원본 첨부파일 메타데이터가 없는 축소본도 함께 정리합니다.
+     */
+    @Scheduled(initialDelayString = "${board.upload.orphan-sweep-ms:3600000}",
+               fixedDelayString = "${board.upload.orphan-sweep-ms:3600000}")
+    public void sweepOrphans() {
+        Path objectDir = Paths.get(uploadDir, OBJECT_DIR);
+        if (!Files.isDirectory(objectDir)) {
+            return;
+        }
+
+        int deleted = 0;
+        try (Stream<Path> paths = Files.walk(objectDir, 2)) {
+            List<Path> objects = paths.filter(Files::isRegularFile).toList();
+            for (Path object : objects) {
+                String contentHash = object.getFileName().toString();
+                if (isPastGracePeriod(object) && postDAO.countFilesByHash(contentHash) == 0) {
+                    Files.deleteIfExists(object);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.error("첨부파일 정리 중 오류 : {}", e.getLocalizedMessage());
+        }
+        if (deleted > 0) {
+            log.info("참조되지 않는 첨부파일 {}건 삭제", deleted);
+        }
+        sweepOrphanVariants();
+    }
+
+
+    // variants/{그룹}/{파일 ID} 중 원본 첨부파일 메타데이터가 없고 유예 기간이 지난 디렉토리 삭제
+    private void sweepOrphanVariants() {
+        Path variantRoot = Paths.get(uploadDir, VARIANT_DIR);
+        if (!Files.isDirectory(variantRoot)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(variantRoot, 2)) {
+            List<Path> dirs = paths.filter(path -> variantRoot.relativize(path).getNameCount() == 2)
+                    .filter(Files::isDirectory).toList();
+            for (Path dir : dirs) {
+                try {
+                    int fileId = Integer.parseInt(dir.getFileName().toString());
+                    if (isPastGracePeriod(dir) && postDAO.getFileDownloadData(fileId) == null) {
+                        releaseVariants(fileId);
+                    }
+                } catch (NumberFormatException e) {
+                    // 축소본 디렉토리가 아님
+                }
+            }
+        } catch (IOException e) {
+            log.error("첨부파일 축소본 정리 중 오류 : {}", e.getLocalizedMessage());
+        }
+    }
+
+
+    // 해시 경로에 파일이 없으면 원자적으로 이동하고, 있으면 재사용 (수정 시각만 갱신하여 유예 기간 적용)
+    private StoredFileDTO commit(Path source, String contentHash, long size) throws IOException {
+        Path target = objectPath(contentHash);
+        Files.createDirectories(target.getParent());
+
+        if (Files.exists(target)) {
+            try {
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                return new StoredFileDTO(target.toString(), size, contentHash, true);
+            } catch (NoSuchFileException e) {
+                // 그 사이에 정리 작업으로 삭제되었다면 새로 저장
+            }
+        }
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new StoredFileDTO(target.toString(), size, contentHash, false);
+    }
+
+    private Path variantDir(int fileId) {
+        return Paths.get(uploadDir, VARIANT_DIR, String.valueOf(fileId / 1000), String.valueOf(fileId));
+    }
+
+    private Path objectPath(String contentHash) {
+        return Paths.get(uploadDir, OBJECT_DIR, contentHash.substring(0, 2), contentHash);
+    }
+
+    private boolean isPastGracePeriod(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        return System.currentTimeMillis() - modified > deleteGracePeriod.toMillis();
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * 축소본 내용을 스트림에 쓰는 작업입니다.
+     */
+    @FunctionalInterface
+    public interface VariantWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,428 @@
+package com.study.connection.service.file;
+
+import com.study.connection.dto.file.StoredFileDTO;
+import com.study.connection.dto.file.UploadSessionDTO;
+import com.study.connection.handler.exception.InvalidUploadException;
+import com.study.connection.handler.exception.UploadSessionNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 큰 첨부파일을 일정한 크기의 조각(chunk)으로 나누어 받는 업로드 세션을 관리합니다.
+ * 연결이 끊겨도 받지 못한 조각만 다시 보내면 되고, 조각은 순서와 관계없이 동시에 받을 수 있습니다.
+ * · 조각은 세션 파일(tmp/sessions/{uploadId}.part)의 해당 위치(조각 번호 × 조각 크기)에 바로 씁니다. (positional write)
+ * · 조각마다 클라이언트가 보낸 SHA-256 과 받은 내용을 비교하고, 일치하는 조각만 받은 것으로 기록합니다.
+ *   같은 조각을 동시에 보내면 먼저 온 요청만 쓰고 나머지는 거절합니다.
+ * · 모든 조각을 받으면 파일 전체의 SHA-256 을 계산하여 {@link AttachmentStorage} 에 저장합니다.
+ *   세션을 만들 때 파일 전체의 SHA-256 을 보냈다면 저장 전에 비교합니다.
+ * · 조각 크기 / 최대 파일 크기 / 최대 동시 세션 수 : board.upload.chunk-size / board.upload.max-file-size / board.upload.max-sessions
+ * · 세션 상태는 메모리에 있으며, board.upload.session-ttl-minutes 동안 요청이 없는 세션은 주기적으로 삭제합니다.
+ *   조각을 하나도 받지 않은 세션은 board.upload.empty-session-ttl-minutes 가 지나면 삭제하여, 세션만 만들고 떠난 요청이
+ *   동시 세션 수를 오래 차지하지 않도록 합니다.
+ */
+@Slf4j
+@Component
+public class UploadSessionService {
+
+    private static final String SESSION_DIR = "tmp/sessions";
+    private static final String PART_SUFFIX = ".part";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AttachmentStorage attachmentStorage;
+    private final Path sessionDir;
+    private final int chunkSize;
+    private final long maxFileSize;
+    private final int maxSessions;
+    private final Duration sessionTtl;
+    private final Duration emptySessionTtl;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionService(AttachmentStorage attachmentStorage,
+                                @Value("${board.upload.dir:src/main/resources/upload/file1/}") String uploadDir,
+                                @Value("${board.upload.chunk-size:8388608}") int chunkSize,
+                                @Value("${board.upload.max-file-size:2147483648}") long maxFileSize,
+                                @Value("${board.upload.max-sessions:100}") int maxSessions,
+                                @Value("${board.upload.session-ttl-minutes:60}") long sessionTtlMinutes,
+                                @Value("${board.upload.empty-session-ttl-minutes:5}") long emptySessionTtlMinutes) {
+        this.attachmentStorage = attachmentStorage;
+        this.sessionDir = Paths.get(uploadDir, SESSION_DIR);
+        this.chunkSize = chunkSize;
+        this.maxFileSize = maxFileSize;
+        this.maxSessions = maxSessions;
+        this.sessionTtl = Duration.ofMinutes(sessionTtlMinutes);
+        this.emptySessionTtl = Duration.ofMinutes(emptySessionTtlMinutes);
+    }
+
+
+    /**
+     * 업로드 세션을 만듭니다.
+     *
+     * @param fileName 원본 파일명
+     * @param contentType 파일 형식 (없으면 null)
+     * @param fileSize 전체 파일 크기 (byte)
+     * @param sha256 파일 전체의 SHA-256 (hex, 없으면 null), 완료 시 받은 파일과 비교
+     * @return {@link UploadSessionDTO} 세션 ID, 조각 크기, 조각 수
+     * @throws InvalidUploadException 파일 크기나 SHA-256 형식이 올바르지 않거나 동시 세션 수가 제한을 넘은 경우
+     */
+    public UploadSessionDTO create(String fileName, String contentType, long fileSize, String sha256) throws IOException {
+        if (fileName == null || fileName.isBlank()) {
+            throw new InvalidUploadException("파일명이 없습니다.");
+        }
+        if (fileSize <= 0 || fileSize > maxFileSize) {
+            throw new InvalidUploadException("파일 크기는 1 ~ " + maxFileSize + " byte 여야 합니다.");
+        }
+        if (sha256 != null && !sha256.isBlank() && !isSha256(sha256)) {
+            throw new InvalidUploadException("파일의 SHA-256 형식이 올바르지 않습니다.");
+        }
+        if (sessions.size() >= maxSessions) {
+            // 정리 작업 주기를 기다리지 않고 비어 있는 세션부터 정리
+            expireEmptySessions(System.currentTimeMillis());
+        }
+        if (sessions.size() >= maxSessions) {
+            throw new InvalidUploadException("진행 중인 업로드가 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        Files.createDirectories(sessionDir);
+        String uploadId = UUID.randomUUID().toString();
+        int chunkCount = (int) ((fileSize + chunkSize - 1) / chunkSize);
+        UploadSession session = new UploadSession(uploadId, fileName, contentType, fileSize, chunkCount,
+                sessionDir.resolve(uploadId + PART_SUFFIX), sha256 == null || sha256.isBlank() ? null : sha256);
+        Files.createFile(session.partFile);
+        sessions.put(uploadId, session);
+        return status(session);
+    }
+
+
+    /**
+     * 세션의 현재 상태(받은 조각 목록)를 반환합니다. 업로드를 재개할 때 사용합니다.
+     */
+    public UploadSessionDTO getStatus(String uploadId) {
+        UploadSession session = find(uploadId);
+        session.touch();
+        return status(session);
+    }
+
+
+    /**
+     * 조각 하나를 받아 세션 파일의 해당 위치에 씁니다. 같은 조각을 다시 보내면 덮어씁니다.
+     * 요청 본문을 읽으면서 바로 쓰고 SHA-256 을 계산하므로, 조각 전체를 메모리에 올리지 않습니다.
+     *
+     * @param index 조각 번호 (0 부터)
+     * @param sha256 조각 내용의 SHA-256 (hex)
+     * @param in 조각 내용
+     * @throws InvalidUploadException 조각 번호/크기가 올바르지 않거나, SHA-256 이 일치하지 않거나, 같은 조각을 받는 중인 경우
+     */
+    public void writeChunk(String uploadId, int index, String sha256, InputStream in) throws IOException {
+        UploadSession session = find(uploadId);
+        if (index < 0 || index >= session.chunkCount) {
+            throw new InvalidUploadException("조각 번호가 올바르지 않습니다 : " + index);
+        }
+        if (sha256 == null || sha256.isBlank()) {
+            throw new InvalidUploadException("조각의 SHA-256 이 없습니다.");
+        }
+
+        // 완료 처리 중에는 조각을 받지 않음 (조각끼리는 동시에 쓸 수 있음)
+        if (!session.lock.readLock().tryLock()) {
+            throw new InvalidUploadException("업로드를 완료하는 중입니다.");
+        }
+        try {
+            if (session.completed) {
+                throw new InvalidUploadException("이미 완료된 업로드입니다.");
+            }
+            // 같은 위치에 두 요청이 섞여 쓰면 받은 것으로 기록된 조각의 내용이 SHA-256 과 달라질 수 있음
+            if (!session.beginChunk(index)) {
+                throw new InvalidUploadException("같은 조각을 받는 중입니다 : " + index);
+            }
+            try {
+                session.touch();
+                receiveChunk(session, index, sha256, in);
+            } finally {
+                session.endChunk(index);
+            }
+
+        } finally {
+            session.lock.readLock().unlock();
+        }
+    }
+
+
+    private void receiveChunk(UploadSession session, int index, String sha256, InputStream in) throws IOException {
+        long position = (long) index * chunkSize;
+        long expectedSize = Math.min(chunkSize, session.fileSize - position);
+        session.markReceived(index, false);
+
+        MessageDigest digest = sha256();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(session.partFile, StandardOpenOption.WRITE)) {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(bytes)) != -1) {
+                if (written + read > expectedSize) {
+                    throw new InvalidUploadException("조각 크기가 올바르지 않습니다 (최대 " + expectedSize + " byte)");
+                }
+                digest.update(bytes, 0, read);
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, read);
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, position + written);
+                }
+            }
+        }
+
+        if (written != expectedSize) {
+            throw new InvalidUploadException("조각 크기가 올바르지 않습니다 (" + written + " / " + expectedSize + " byte)");
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(sha256)) {
+            throw new InvalidUploadException("조각의 SHA-256 이 일치하지 않습니다 : " + index);
+        }
+        session.markReceived(index, true);
+    }
+
+
+    /**
+     * 모든 조각을 받았으면 세션 파일을 첨부파일로 저장하고 세션을 끝냅니다.
+     * 저장에 실패하면 세션은 그대로 남아 다시 시도할 수 있습니다.
+     * 세션을 만들 때 보낸 파일 전체의 SHA-256 과 다르면 세션을 삭제합니다. (조각은 각각 확인했으므로 처음부터 다시 보내야 함)
+     *
+     * @return 완료된 업로드 (파일명, 형식, 저장 결과)
+     * @throws InvalidUploadException 받지 못한 조각이 있거나, 조각을 받는 중이거나, 파일 전체의 SHA-256 이 일치하지 않는 경우
+     */
+    public CompletedUpload complete(String uploadId) throws IOException {
+        UploadSession session = find(uploadId);
+        if (!session.lock.writeLock().tryLock()) {
+            throw new InvalidUploadException("조각을 받는 중입니다. 모든 조각을 보낸 뒤 완료해 주세요.");
+        }
+        try {
+            if (session.completed) {
+                throw new InvalidUploadException("이미 완료된 업로드입니다.");
+            }
+            int missing = session.missingCount();
+            if (missing > 0) {
+                throw new InvalidUploadException("받지 못한 조각이 " + missing + "개 있습니다.");
+            }
+
+            String contentHash;
+            try (FileChannel channel = FileChannel.open(session.partFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel.truncate(session.fileSize);
+                channel.force(true);
+                contentHash = hash(channel);
+            }
+            if (session.sha256 != null && !session.sha256.equalsIgnoreCase(contentHash)) {
+                session.completed = true;
+                abort(uploadId);
+                throw new InvalidUploadException("파일 전체의 SHA-256 이 일치하지 않습니다. 처음부터 다시 업로드해 주세요.");
+            }
+            StoredFileDTO stored = attachmentStorage.storeCompleted(session.partFile, contentHash);
+            session.completed = true;
+            sessions.remove(uploadId);
+            return new CompletedUpload(session.fileName, session.contentType, stored);
+
+        } finally {
+            session.lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * 업로드를 취소하고 세션 파일을 삭제합니다.
+     */
+    public void abort(String uploadId) throws IOException {
+        UploadSession session = sessions.remove(uploadId);
+        if (session != null) {
+            Files.deleteIfExists(session.partFile);
+        }
+    }
+
+
+    /**
+     * 오래 요청이 없는 세션과, 세션 정보가 없는 세션 파일(재시작 전의 세션 등)을 삭제합니다.
+     */
+    @Scheduled(initialDelayString = "${board.upload.session-sweep-ms:300000}",
+               fixedDelayString = "${board.upload.session-sweep-ms:300000}")
+    public void expireSessions() {
+        long now = System.currentTimeMillis();
+        int expired = expire(now, session -> now - session.lastTouched > sessionTtl.toMillis());
+        expired += expireEmptySessions(now);
+
+        if (Files.isDirectory(sessionDir)) {
+            try (Stream<Path> paths = Files.list(sessionDir)) {
+                for (Path path : paths.toList()) {
+                    String name = path.getFileName().toString();
+                    String uploadId = name.endsWith(PART_SUFFIX) ? name.substring(0, name.length() - PART_SUFFIX.length()) : name;
+                    if (!sessions.containsKey(uploadId)
+                            && now - Files.getLastModifiedTime(path).toMillis() > sessionTtl.toMillis()) {
+                        Files.deleteIfExists(path);
+                        expired++;
+                    }
+                }
+            } catch (IOException e) {
+                log.error("업로드 세션 파일 정리 중 오류 : {}", e.getLocalizedMessage());
+            }
+        }
+        if (expired > 0) {
+            log.info("만료된 업로드 세션 {}건 삭제", expired);
+        }
+    }
+
+
+    // 조각을 하나도 받지 않았고 받는 중인 조각도 없는 세션 중 오래된 세션을 삭제
+    private int expireEmptySessions(long now) {
+        return expire(now, session -> session.isEmpty() && now - session.lastTouched > emptySessionTtl.toMillis());
+    }
+
+
+    private int expire(long now, Predicate<UploadSession> expired) {
+        int count = 0;
+        for (UploadSession session : List.copyOf(sessions.values())) {
+            if (expired.test(session)) {
+                try {
+                    abort(session.uploadId);
+                    count++;
+                } catch (IOException e) {
+                    log.error("업로드 세션 삭제 중 오류 : {}", session.partFile, e);
+                }
+            }
+        }
+        return count;
+    }
+
+
+    private UploadSession find(String uploadId) {
+        UploadSession session = uploadId == null ? null : sessions.get(uploadId);
+        if (session == null) {
+            throw new UploadSessionNotFoundException("업로드 세션이 없거나 만료되었습니다 : " + uploadId);
+        }
+        return session;
+    }
+
+    private UploadSessionDTO status(UploadSession session) {
+        return new UploadSessionDTO(session.uploadId, session.fileSize, chunkSize, session.chunkCount,
+                session.receivedChunks());
+    }
+
+    private static boolean isSha256(String value) {
+        return value.length() == 64 && value.chars().allMatch(c -> Character.digit(c, 16) >= 0);
+    }
+
+    private String hash(FileChannel channel) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = 0;
+        int read;
+        while ((read = channel.read(buffer, position)) != -1) {
+            position += read;
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+
+    /**
+     * 완료된 업로드입니다. 첨부파일 메타데이터 저장에 사용합니다.
+     */
+    public record CompletedUpload(String fileName, String contentType, StoredFileDTO stored) {
+    }
+
+
+    /**
+     * 진행 중인 업로드 세션입니다.
+     */
+    private static class UploadSession {
+        private final String uploadId;
+        private final String fileName;
+        private final String contentType;
+        private final long fileSize;
+        private final int chunkCount;
+        private final Path partFile;
+        // 파일 전체의 SHA-256 (세션을 만들 때 보내지 않았으면 null)
+        private final String sha256;
+        private final BitSet received;
+        // 받는 중인 조각
+        private final BitSet inFlight;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile long lastTouched = System.currentTimeMillis();
+        private volatile boolean completed;
+
+        UploadSession(String uploadId, String fileName, String contentType, long fileSize, int chunkCount, Path partFile,
+                      String sha256) {
+            this.uploadId = uploadId;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.fileSize = fileSize;
+            this.chunkCount = chunkCount;
+            this.partFile = partFile;
+            this.sha256 = sha256;
+            this.received = new BitSet(chunkCount);
+            this.inFlight = new BitSet(chunkCount);
+        }
+
+        void touch() {
+            lastTouched = System.currentTimeMillis();
+        }
+
+        // 조각을 받기 시작, 이미 받는 중이면 false
+        synchronized boolean beginChunk(int index) {
+            if (inFlight.get(index)) {
+                return false;
+            }
+            inFlight.set(index);
+            return true;
+        }
+
+        synchronized void endChunk(int index) {
+            inFlight.clear(index);
+        }
+
+        synchronized boolean isEmpty() {
+            return received.isEmpty() && inFlight.isEmpty();
+        }
+
+        synchronized void markReceived(int index, boolean value) {
+            received.set(index, value);
+        }
+
+        synchronized int missingCount() {
+            return chunkCount - received.cardinality();
+        }
+
+        synchronized List<Integer> receivedChunks() {
+            List<Integer> chunks = new ArrayList<>(received.cardinality());
+            received.stream().forEach(chunks::add);
+            return chunks;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.study.connection.service.image;
+
+import lombok.Getter;
+
+/**
+ * 이미지 첨부파일의 축소본 종류입니다. 모두 JPEG 로 저장하며, 원본보다 크게 만들지 않습니다.
+ */
+@Getter
+public enum ImageVariant {
+
+    // 게시물 상세 화면의 미리보기
+    THUMB("thumb", 320, 0.80f),
+    // 미리보기를 눌렀을 때 보여 주는 웹용 축소본
+    WEB("web", 1280, 0.85f);
+
+    private final String name;
+    // 긴 변의 최대 길이 (px)
+    private final int maxSize;
+    private final float quality;
+
+    ImageVariant(String name, int maxSize, float quality) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.quality = quality;
+    }
+
+
+    public String getFileName() {
+        return name + ".jpg";
+    }
+
+
+    /**
+     * 이름에 해당하는 축소본 종류를 반환합니다.
+     *
+     * @return 없는 이름이면 null
+     */
+    public static ImageVariant of(String name) {
+        for (ImageVariant variant : values()) {
+            if (variant.name.equals(name)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,281 @@
+package com.study.connection.service.image;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.file.FileVariantDTO;
+import com.study.connection.dto.file.ImageSourceDTO;
+import com.study.connection.dto.file.StoredFileDTO;
+import com.study.connection.service.cache.PostReadCache;
+import com.study.connection.service.file.AttachmentStorage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지 첨부파일의 축소본({@link ImageVariant})을 전용 스레드 풀에서 만듭니다.
+ * 게시물 상세 화면이 원본 대신 작은 미리보기를 보여 줄 수 있도록 하며, 업로드 요청은 축소본 생성을 기다리지 않습니다.
+ * · 첨부파일 메타데이터가 커밋된 뒤 {@link #submit(List)} 로 작업을 등록합니다.
+ * · 스레드 수 / 대기열 크기 : board.image.threads / board.image.queue-capacity
+ *   대기열이 가득 차면 작업을 버리고, 주기적인 보충 작업({@link #backfill()})에서 다시 만듭니다.
+ *   보충 작업은 이 기능이 생기기 전에 업로드된 이미지에도 축소본을 만듭니다.
+ * · 원본의 픽셀 수가 board.image.max-pixels 를 넘거나, 지원하지 않는 형식이거나, 손상된 이미지는 건너뛰고 file_variant_skip 에 기록하여,
+ *   보충 작업이 실행될 때마다(재시작 후 포함) 다시 읽지 않습니다.
+ *   원본 파일이 없는 경우(저장소가 잠시 연결되지 않은 경우 등)와 그 외의 오류(outcome=error)는 기록하지 않고 다시 시도합니다.
+ * · 처리 시간은 board.image.variant 타이머(outcome=success|skipped|error)로, 버려진 작업 수는 board.image.rejected 로 집계합니다.
+ */
+@Slf4j
+@Component
+public class ImageVariantService {
+
+    private static final String VARIANT_CONTENT_TYPE = "image/jpeg";
+    private static final int BACKFILL_BATCH = 100;
+
+    private final PostDAO postDAO;
+    private final AttachmentStorage attachmentStorage;
+    private final PostReadCache postReadCache;
+    private final ThreadPoolExecutor executor;
+    private final long maxPixels;
+
+    // 처리 중이거나 대기 중인 파일 ID (같은 파일을 중복으로 등록하지 않음)
+    private final Set<Integer> pending = ConcurrentHashMap.newKeySet();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter rejectedCounter;
+
+    public ImageVariantService(PostDAO postDAO, AttachmentStorage attachmentStorage, PostReadCache postReadCache,
+                               MeterRegistry meterRegistry,
+                               @Value("${board.image.threads:2}") int threads,
+                               @Value("${board.image.queue-capacity:200}") int queueCapacity,
+                               @Value("${board.image.max-pixels:40000000}") long maxPixels) {
+        this.postDAO = postDAO;
+        this.attachmentStorage = attachmentStorage;
+        this.postReadCache = postReadCache;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    // 조회 요청보다 낮은 우선순위로 실행
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.meterRegistry = meterRegistry;
+        this.rejectedCounter = Counter.builder("board.image.rejected").register(meterRegistry);
+        Gauge.builder("board.image.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+
+    /**
+     * 이미지 첨부파일의 축소본 생성 작업을 등록합니다. (기다리지 않음)
+     * 이미지가 아니거나 이미 등록된 파일은 건너뜁니다.
+     *
+     * @param sources 첨부파일 (메타데이터가 커밋된 뒤 호출)
+     */
+    public void submit(List<ImageSourceDTO> sources) {
+        for (ImageSourceDTO source : sources) {
+            if (!isSupported(source.getContentType()) || !pending.add(source.getFileId())) {
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(source);
+                    } finally {
+                        pending.remove(source.getFileId());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                pending.remove(source.getFileId());
+                rejectedCounter.increment();
+            }
+        }
+    }
+
+
+    /**
+     * 축소본이 없는 이미지 첨부파일을 찾아 작업을 등록합니다.
+     * 대기열에 여유가 있는 만큼만 등록하고, 나머지는 다음 실행에서 이어서 등록합니다.
+     */
+    @Scheduled(initialDelayString = "${board.image.backfill-ms:600000}",
+               fixedDelayString = "${board.image.backfill-ms:600000}")
+    public void backfill() {
+        int afterFileId = 0;
+        try {
+            while (executor.getQueue().remainingCapacity() >= BACKFILL_BATCH) {
+                List<ImageSourceDTO> sources = postDAO.getImageSourcesWithoutVariant(afterFileId, BACKFILL_BATCH);
+                if (sources.isEmpty()) {
+                    return;
+                }
+                submit(sources);
+                afterFileId = sources.get(sources.size() - 1).getFileId();
+            }
+        } catch (Exception e) {
+            log.error("이미지 축소본 보충 작업 중 오류 : {}", e.getLocalizedMessage());
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    private void process(ImageSourceDTO source) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            BufferedImage image = read(Paths.get(source.getFilePath()));
+            if (image == null) {
+                outcome = "skipped";
+                postDAO.insertFileVariantSkip(source.getFileId());
+                return;
+            }
+
+            List<FileVariantDTO> variants = new ArrayList<>();
+            for (ImageVariant variant : ImageVariant.values()) {
+                BufferedImage resized = resize(image, variant.getMaxSize());
+                StoredFileDTO stored = attachmentStorage.storeVariant(source.getFileId(), variant.getFileName(),
+                        out -> writeJpeg(resized, variant.getQuality(), out));
+                variants.add(new FileVariantDTO(source.getFileId(), variant.getName(), VARIANT_CONTENT_TYPE,
+                        resized.getWidth(), resized.getHeight(), stored.getFileSize(), stored.getFilePath()));
+            }
+            postDAO.insertFileVariants(variants);
+            postReadCache.evictFileMeta(source.getPostId());
+
+        } catch (DataIntegrityViolationException e) {
+            // 그 사이에 첨부파일이 삭제되었거나 다른 작업이 먼저 저장함
+            outcome = "skipped";
+            if (postDAO.getFileDownloadData(source.getFileId()) == null) {
+                attachmentStorage.releaseVariants(source.getFileId());
+            }
+        } catch (Exception e) {
+            outcome = "error";
+            log.error("이미지 축소본 생성 중 오류 (fileId={}) : {}", source.getFileId(), e.getLocalizedMessage());
+        } finally {
+            Timer.builder("board.image.variant").tag("outcome", outcome).register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+
+    // 크기를 먼저 확인하고, 큰 이미지는 축소본에 필요한 만큼만 건너뛰며(subsampling) 읽어 메모리 사용을 줄임
+    // 지원하지 않는 형식, 손상된 이미지, 너무 큰 이미지는 null
+    // 원본 파일이 없으면 (저장소가 잠시 연결되지 않은 경우 등) 다음 보충 작업에서 다시 시도하도록 예외를 던짐
+    private BufferedImage read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            throw new NoSuchFileException(path.toString());
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.info("이미지가 너무 커서 축소본을 만들지 않음 : {}x{}, {}", width, height, path);
+                    return null;
+                }
+
+                int step = Math.max(1, Math.max(width, height) / (ImageVariant.WEB.getMaxSize() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                // 잘리거나 손상된 이미지 (다시 읽어도 같은 결과)
+                log.info("손상된 이미지라 축소본을 만들지 않음 : {} ({})", path, e.getLocalizedMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 긴 변이 maxSize 이하가 되도록 비율을 유지하여 축소 (확대하지 않음), 투명 영역은 흰색으로 채움
+    private BufferedImage resize(BufferedImage image, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    // 점진적(progressive) JPEG 으로 저장
+    private void writeJpeg(BufferedImage image, float quality, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(VARIANT_CONTENT_TYPE).next();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private boolean isSupported(String contentType) {
+        return contentType != null && contentType.startsWith("image/")
+                && ImageIO.getImageReadersByMIMEType(contentType).hasNext();
+    }
+}
@@ -0,0 +1,65 @@
+package com.study.connection.service.importer;
+
+import com.study.connection.service.importer.BulkImportService.ImportResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * board.import.source 가 지정되면 애플리케이션 시작 시 게시물을 일괄로 가져옵니다.
+ * 예) java -jar board.jar --spring.main.web-application-type=none \
+ *         --board.import.source=/data/legacy/posts.ndjson --board.import.attachment-dir=/data/legacy/files
+ * · board.import.exit=true(기본값) 이면 가져오기가 끝난 뒤 애플리케이션을 종료합니다. (실패 시 종료 코드 1)
+ * · 중단된 경우 같은 명령으로 다시 실행하면 이어서 가져옵니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("board.import.source")
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final BulkImportService bulkImportService;
+    private final ConfigurableApplicationContext context;
+    private final Path source;
+    private final Path attachmentDir;
+    private final boolean exit;
+
+    public BulkImportRunner(BulkImportService bulkImportService, ConfigurableApplicationContext context,
+                            @Value("${board.import.source}") String source,
+                            @Value("${board.import.attachment-dir:}") String attachmentDir,
+                            @Value("${board.import.exit:true}") boolean exit) {
+        this.bulkImportService = bulkImportService;
+        this.context = context;
+        this.source = Paths.get(source);
+        // 지정하지 않으면 NDJSON 파일이 있는 디렉토리 기준
+        this.attachmentDir = attachmentDir.isBlank() ? this.source.toAbsolutePath().getParent() : Paths.get(attachmentDir);
+        this.exit = exit;
+    }
+
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try {
+            ImportResult result = bulkImportService.importPosts(source, attachmentDir);
+            long perSecond = result.elapsedMillis() == 0 ? result.imported() : result.imported() * 1000 / result.elapsedMillis();
+            log.info("게시물 가져오기 완료 : {}건 (첨부파일 {}건, 건너뜀 {}건), {}ms, 초당 {}건",
+                    result.imported(), result.attachments(), result.skipped(), result.elapsedMillis(), perSecond);
+        } catch (Exception e) {
+            exitCode = 1;
+            log.error("게시물 가져오기 실패 (다시 실행하면 마지막으로 저장한 위치부터 이어서 가져옴) : {}", e.getLocalizedMessage(), e);
+        }
+
+        if (exit) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
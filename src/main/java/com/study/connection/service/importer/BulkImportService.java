@@ -0,0 +1,375 @@
+package com.study.connection.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.file.FileImportDTO;
+import com.study.connection.dto.file.FileMetaInsertDTO;
+import com.study.connection.dto.file.StoredFileDTO;
+import com.study.connection.dto.filter.CategoryDTO;
+import com.study.connection.dto.post.PostImportDTO;
+import com.study.connection.service.event.PostsImportedEvent;
+import com.study.connection.service.file.AttachmentStorage;
+import com.study.connection.service.password.PasswordHasher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 다른 게시판의 게시물과 첨부파일을 NDJSON 파일(한 줄에 게시물 하나, {@link PostImportDTO})에서 일괄로 가져옵니다.
+ * 게시물 등록 화면을 한 건씩 다시 실행하는 것과 달리, 다음 단계를 겹쳐서 처리합니다.
+ * · 읽기 : 파일을 board.import.batch-size 줄씩 읽음
+ * · 준비 : 줄마다 JSON 변환, 검증, 비밀번호 해시, 첨부파일 저장을 전용 스레드 풀(board.import.threads)에서 병렬로 처리
+ * · 저장 : 묶음마다 한 트랜잭션에서 게시물과 첨부파일 메타데이터를 multi-row INSERT 로 저장 (생성된 ID 는 한 번에 받음)
+ * 한 묶음을 저장하는 동안 다음 묶음을 준비하며, 동시에 준비 중인 묶음은 최대 두 개입니다.
+ * · 이미 BCrypt 해시인 비밀번호는 그대로 저장합니다.
+ * · 묶음을 저장할 때 같은 트랜잭션에서 진행 위치(import_checkpoint)를 기록하므로, 중단된 뒤 다시 실행하면 이어서 가져옵니다.
+ * · 형식이 잘못된 줄, 없는 카테고리, 읽을 수 없는 첨부파일이 있는 게시물은 건너뛰고 줄 번호를 로그로 남깁니다.
+ * · 이미지 축소본은 만들지 않으며, 주기적인 보충 작업(ImageVariantService)이 생성합니다.
+ */
+@Slf4j
+@Component
+public class BulkImportService {
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final PostDAO postDAO;
+    private final AttachmentStorage attachmentStorage;
+    private final PasswordHasher passwordHasher;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int threads;
+    private final int batchSize;
+
+    public BulkImportService(PostDAO postDAO, AttachmentStorage attachmentStorage, PasswordHasher passwordHasher,
+                             ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${board.import.threads:0}") int threads,
+                             @Value("${board.import.batch-size:500}") int batchSize) {
+        this.postDAO = postDAO;
+        this.attachmentStorage = attachmentStorage;
+        this.passwordHasher = passwordHasher;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 0 이면 모든 코어를 사용 (일괄 가져오기는 서비스 점검 시간에 실행하는 것을 전제로 함)
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+    }
+
+
+    /**
+     * NDJSON 파일의 게시물을 가져옵니다. 같은 파일을 이전에 가져오다 중단했다면 이어서 가져옵니다.
+     *
+     * @param source 게시물 NDJSON 파일
+     * @param attachmentDir 첨부파일 path 의 기준 디렉토리
+     * @return 가져온/건너뛴 게시물 수와 소요 시간
+     * @throws IOException 파일을 읽을 수 없는 경우 (마지막으로 저장한 묶음까지는 반영됨)
+     */
+    public ImportResult importPosts(Path source, Path attachmentDir) throws IOException {
+        long start = System.currentTimeMillis();
+        String sourceKey = source.toAbsolutePath().normalize().toString();
+        Long checkpoint = postDAO.getImportCheckpoint(sourceKey);
+        long resumeAfter = checkpoint == null ? 0 : checkpoint;
+        if (resumeAfter > 0) {
+            log.info("게시물 가져오기 재개 : {} ({}번째 줄부터)", sourceKey, resumeAfter + 1);
+        }
+
+        Set<Integer> categoryIds = postDAO.getCategoryList().stream()
+                .map(CategoryDTO::getCategoryId).collect(Collectors.toSet());
+        ImportRun run = new ImportRun(sourceKey, attachmentDir, categoryIds);
+
+        ExecutorService executor = newExecutor();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            long lineNo = 0;
+            while (lineNo < resumeAfter && reader.readLine() != null) {
+                lineNo++;
+            }
+
+            PendingBatch pending = null;
+            List<Future<PreparedPost>> prepared = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                String json = line;
+                long currentLine = lineNo;
+                prepared.add(executor.submit(() -> run.prepare(json, currentLine)));
+
+                if (prepared.size() >= batchSize) {
+                    // 다음 묶음은 이미 준비를 시작했으므로, 이전 묶음을 저장하는 동안 해시/첨부파일 저장이 계속됨
+                    run.save(pending);
+                    pending = new PendingBatch(prepared, lineNo);
+                    prepared = new ArrayList<>(batchSize);
+                }
+            }
+            run.save(pending);
+            // 빈 줄/건너뛴 줄로 끝나는 경우에도 마지막 줄까지 진행 위치를 기록
+            run.save(new PendingBatch(prepared, lineNo));
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ImportResult result = new ImportResult(run.imported, run.skipped, run.attachments,
+                System.currentTimeMillis() - start);
+        if (result.imported() > 0) {
+            eventPublisher.publishEvent(new PostsImportedEvent(result.imported()));
+        }
+        return result;
+    }
+
+
+    private ExecutorService newExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "post-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+
+    /**
+     * @param imported 가져온 게시물 수
+     * @param skipped 건너뛴 게시물 수
+     * @param attachments 가져온 첨부파일 수
+     * @param elapsedMillis 소요 시간(ms)
+     */
+    public record ImportResult(long imported, long skipped, long attachments, long elapsedMillis) {
+    }
+
+
+    // 준비를 시작한 묶음, lastLine 은 묶음의 마지막 줄 번호 (저장 후 진행 위치)
+    private record PendingBatch(List<Future<PreparedPost>> posts, long lastLine) {
+    }
+
+
+    // 비밀번호를 해시하고 첨부파일을 저장한 게시물, storedFiles 는 post.attachments 와 같은 순서
+    private record PreparedPost(PostImportDTO post, List<StoredFileDTO> storedFiles) {
+    }
+
+
+    /**
+     * 파일 하나를 가져오는 동안의 상태입니다. prepare 는 작업 스레드에서, save 는 파일을 읽는 스레드에서 호출됩니다.
+     */
+    private class ImportRun {
+
+        private final String sourceKey;
+        private final Path attachmentDir;
+        private final Set<Integer> categoryIds;
+
+        // save 에서만 변경 (파일을 읽는 스레드)
+        private long imported;
+        private long skipped;
+        private long attachments;
+        private long lastLogged;
+
+        ImportRun(String sourceKey, Path attachmentDir, Set<Integer> categoryIds) {
+            this.sourceKey = sourceKey;
+            this.attachmentDir = attachmentDir.toAbsolutePath().normalize();
+            this.categoryIds = categoryIds;
+        }
+
+
+        /**
+         * 한 줄을 게시물로 변환하고, 비밀번호를 해시하고, 첨부파일을 저장합니다.
+         * 첨부파일의 fileName/contentType 이 없으면 추정한 값으로 채웁니다.
+         *
+         * @return 건너뛸 게시물이면 null
+         */
+        PreparedPost prepare(String json, long lineNo) {
+            PostImportDTO post;
+            try {
+                post = objectMapper.readValue(json, PostImportDTO.class);
+            } catch (JsonProcessingException e) {
+                log.warn("게시물 가져오기 {}번째 줄 건너뜀 : JSON 형식 오류 ({})", lineNo, e.getOriginalMessage());
+                return null;
+            }
+            // "null" 한 줄은 JSON 으로는 올바르지만 게시물이 아님
+            if (post == null) {
+                log.warn("게시물 가져오기 {}번째 줄 건너뜀 : JSON 객체가 아님", lineNo);
+                return null;
+            }
+
+            String invalid = validate(post);
+            if (invalid != null) {
+                log.warn("게시물 가져오기 {}번째 줄 건너뜀 : {}", lineNo, invalid);
+                return null;
+            }
+
+            if (!passwordHasher.isHashed(post.getPassword())) {
+                post.setPassword(passwordHasher.hashInCurrentThread(post.getPassword()));
+            }
+
+            List<StoredFileDTO> storedFiles = new ArrayList<>(post.getAttachmentCount());
+            if (post.getAttachments() != null) {
+                try {
+                    for (FileImportDTO attachment : post.getAttachments()) {
+                        storedFiles.add(storeAttachment(attachment));
+                    }
+                } catch (IOException e) {
+                    // 이미 저장한 첨부파일은 참조하는 메타데이터가 없으므로 정리 작업(sweepOrphans)에서 삭제됨
+                    log.warn("게시물 가져오기 {}번째 줄 건너뜀 : 첨부파일을 읽을 수 없음 ({})", lineNo, e.getLocalizedMessage());
+                    return null;
+                }
+            }
+            return new PreparedPost(post, storedFiles);
+        }
+
+
+        /**
+         * 준비가 끝난 묶음을 한 트랜잭션에서 저장하고 진행 위치를 기록합니다.
+         */
+        void save(PendingBatch batch) throws IOException {
+            if (batch == null) {
+                return;
+            }
+            List<PreparedPost> prepared = new ArrayList<>(batch.posts().size());
+            for (Future<PreparedPost> future : batch.posts()) {
+                PreparedPost post = await(future);
+                if (post == null) {
+                    skipped++;
+                } else {
+                    prepared.add(post);
+                }
+            }
+            List<PostImportDTO> posts = prepared.stream().map(PreparedPost::post).toList();
+
+            List<FileMetaInsertDTO> fileMetas = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!posts.isEmpty()) {
+                    postDAO.insertPostBatch(posts);
+                    // INSERT 후 각 게시물에 생성된 ID 가 채워짐
+                    for (PreparedPost item : prepared) {
+                        for (int i = 0; i < item.storedFiles().size(); i++) {
+                            FileImportDTO attachment = item.post().getAttachments().get(i);
+                            StoredFileDTO stored = item.storedFiles().get(i);
+                            fileMetas.add(new FileMetaInsertDTO(0, item.post().getPostId(), attachment.getFileName(),
+                                    stored.getFileSize(), attachment.getContentType(),
+                                    stored.getFilePath(), stored.getContentHash()));
+                        }
+                    }
+                    if (!fileMetas.isEmpty()) {
+                        postDAO.insertFileMetaBatch(fileMetas);
+                    }
+                }
+                postDAO.saveImportCheckpoint(sourceKey, batch.lastLine());
+            });
+
+            imported += posts.size();
+            attachments += fileMetas.size();
+            if (imported - lastLogged >= 10_000) {
+                lastLogged = imported;
+                log.info("게시물 가져오기 진행 : {}건 ({}번째 줄)", imported, batch.lastLine());
+            }
+        }
+
+
+        private String validate(PostImportDTO post) {
+            if (!categoryIds.contains(post.getCategoryId())) {
+                return "없는 카테고리 (" + post.getCategoryId() + ")";
+            }
+            if (isBlank(post.getTitle()) || length(post.getTitle()) > 100) {
+                return "제목은 1~100자";
+            }
+            if (isBlank(post.getWriter()) || length(post.getWriter()) > 20) {
+                return "작성자는 1~20자";
+            }
+            if (isBlank(post.getContent())) {
+                return "내용 없음";
+            }
+            if (isBlank(post.getPassword())) {
+                return "비밀번호 없음";
+            }
+            if (!isDateTime(post.getCreatedAt()) || !isDateTime(post.getUpdatedAt())) {
+                return "등록/수정일은 yyyy-MM-dd HH:mm:ss 형식";
+            }
+            return null;
+        }
+
+
+        // 첨부파일 디렉토리 밖의 경로(../)는 읽지 않음
+        private StoredFileDTO storeAttachment(FileImportDTO attachment) throws IOException {
+            if (attachment == null || isBlank(attachment.getPath())) {
+                throw new IOException("첨부파일 path 없음");
+            }
+            Path file = attachmentDir.resolve(attachment.getPath()).normalize();
+            if (!file.startsWith(attachmentDir) || !Files.isRegularFile(file)) {
+                throw new IOException(attachment.getPath());
+            }
+
+            StoredFileDTO stored;
+            try (InputStream in = Files.newInputStream(file)) {
+                stored = attachmentStorage.store(in);
+            }
+            if (isBlank(attachment.getFileName())) {
+                attachment.setFileName(file.getFileName().toString());
+            }
+            if (isBlank(attachment.getContentType())) {
+                attachment.setContentType(Files.probeContentType(file));
+            }
+            return stored;
+        }
+
+
+        private PreparedPost await(Future<PreparedPost> future) throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("게시물 가져오기가 중단되었습니다.", e);
+            } catch (ExecutionException e) {
+                throw new IOException("게시물 가져오기 중 오류", e.getCause());
+            }
+        }
+    }
+
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // VARCHAR 길이는 문자(코드 포인트) 기준
+    private static int length(String value) {
+        return value.codePointCount(0, value.length());
+    }
+
+    // 값이 없으면 허용
+    private static boolean isDateTime(String value) {
+        if (value == null) {
+            return true;
+        }
+        try {
+            LocalDateTime.parse(value, DATE_TIME_FORMAT);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.study.connection.service.password;
+
+import com.study.connection.handler.exception.TooManyPasswordAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 게시물별 비밀번호 확인 시도 횟수를 제한합니다.
+ * 비밀번호를 검증하기 전에 {@link #acquire} 로 시도 한 번을 예약하고, 일치하면 {@link #reset} 으로 기록을 지웁니다.
+ * 한 게시물에 대해 board.password.max-failures 번 예약되면, 첫 시도부터 board.password.failure-window-seconds 가 지날 때까지
+ * BCrypt 검증을 실행하지 않고 바로 {@link TooManyPasswordAttemptsException} 을 던집니다.
+ * · 확인과 증가를 한 번에(compute) 처리하므로, 동시에 들어온 요청도 제한 횟수를 넘어 검증되지 않습니다.
+ * · 검증하지 못한 시도(게시물 없음, 검증 요청 거절)는 {@link #release} 로 예약을 되돌립니다.
+ * · 추적하는 게시물 수는 board.password.failure-tracking-size 로 제한하며, 넘으면 만료된 기록부터 지웁니다.
+ */
+@Component
+public class PasswordAttemptLimiter {
+
+    private final ConcurrentHashMap<Integer, Attempts> attempts = new ConcurrentHashMap<>();
+    private final int maxFailures;
+    private final long windowNanos;
+    private final int maxSize;
+    private final Counter throttledCounter;
+
+    public PasswordAttemptLimiter(MeterRegistry meterRegistry,
+                                  @Value("${board.password.max-failures:5}") int maxFailures,
+                                  @Value("${board.password.failure-window-seconds:300}") long windowSeconds,
+                                  @Value("${board.password.failure-tracking-size:10000}") int maxSize) {
+        this.maxFailures = maxFailures;
+        this.windowNanos = Duration.ofSeconds(windowSeconds).toNanos();
+        this.maxSize = maxSize;
+        this.throttledCounter = Counter.builder("board.password.throttled").register(meterRegistry);
+    }
+
+
+    /**
+     * 게시물의 비밀번호 확인 시도 한 번을 예약합니다.
+     * 예약한 시도는 일치하지 않으면 그대로 실패 횟수로 남습니다.
+     *
+     * @throws TooManyPasswordAttemptsException 시도 횟수가 제한을 넘은 경우
+     */
+    public void acquire(int postId) {
+        if (!attempts.containsKey(postId) && attempts.size() >= maxSize) {
+            evict();
+        }
+        long now = System.nanoTime();
+        Attempts reserved = attempts.compute(postId, (key, current) -> {
+            if (current == null || current.isExpired(now)) {
+                return new Attempts(1, now + windowNanos);
+            }
+            // 제한을 넘은 뒤에는 더 늘리지 않음 (max + 1 이면 거절)
+            return current.count() > maxFailures ? current : new Attempts(current.count() + 1, current.expiresAt());
+        });
+
+        if (reserved.count() > maxFailures) {
+            throttledCounter.increment();
+            throw new TooManyPasswordAttemptsException("비밀번호를 여러 번 잘못 입력했습니다. 잠시 후 다시 시도해 주세요.");
+        }
+    }
+
+
+    /**
+     * {@link #acquire} 로 예약한 시도를 되돌립니다. 검증을 실행하지 못한 경우에 사용합니다.
+     */
+    public void release(int postId) {
+        attempts.computeIfPresent(postId, (key, current) ->
+                current.count() <= 1 ? null : new Attempts(current.count() - 1, current.expiresAt()));
+    }
+
+
+    /**
+     * 비밀번호가 일치하면 게시물의 시도 기록을 지웁니다.
+     */
+    public void reset(int postId) {
+        attempts.remove(postId);
+    }
+
+
+    // 추적 중인 게시물 수
+    int size() {
+        return attempts.size();
+    }
+
+
+    // 만료된 기록을 지우고, 그래도 가득 찼다면 임의의 기록을 지움 (메모리 사용량 제한이 우선)
+    private void evict() {
+        long now = System.nanoTime();
+        attempts.values().removeIf(current -> current.isExpired(now));
+        Iterator<Integer> iterator = attempts.keySet().iterator();
+        while (attempts.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+
+    // count : 예약된 시도 수 (진행 중 + 실패), expiresAt : 첫 시도 + 제한 시간 (System.nanoTime 기준)
+    private record Attempts(int count, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.study.connection.service.password;
+
+import com.study.connection.handler.exception.PasswordHashRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt 해시 생성/검증을 전용 스레드 풀에서 실행합니다.
+ * BCrypt 는 의도적으로 CPU 를 많이 쓰는 연산이므로, 요청 스레드에서 바로 실행하면
+ * 수정/삭제 요청이 몰릴 때(또는 무차별 대입 시) 모든 코어를 차지하여 목록/상세 조회까지 느려집니다.
+ * · 스레드 수 / 대기열 크기 : board.password.threads / board.password.queue-capacity
+ * · 대기열이 가득 차거나 board.password.wait-timeout-ms 안에 끝나지 않으면 바로 {@link PasswordHashRejectedException} 을 던집니다.
+ * · 해시 비용(cost) : board.password.bcrypt-cost, 이보다 낮은 비용으로 저장된 해시는 {@link #needsRehash(String)} 가 true 입니다.
+ * · 연산 시간은 board.password.hash 타이머(operation=hash|verify)로, 거절 횟수는 board.password.rejected 로 집계합니다.
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}");
+
+    private final ThreadPoolExecutor executor;
+    private final int cost;
+    private final long waitTimeoutMillis;
+
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${board.password.threads:0}") int threads,
+                          @Value("${board.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${board.password.wait-timeout-ms:2000}") long waitTimeoutMillis,
+                          @Value("${board.password.bcrypt-cost:10}") int cost) {
+        // 0 이면 코어의 절반을 사용하여, 나머지 코어는 조회 요청이 사용할 수 있도록 남겨 둠
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.cost = cost;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+
+        this.hashTimer = Timer.builder("board.password.hash").tag("operation", "hash")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.verifyTimer = Timer.builder("board.password.hash").tag("operation", "verify")
+                .publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.rejectedCounter = Counter.builder("board.password.rejected").register(meterRegistry);
+        Gauge.builder("board.password.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+
+    /**
+     * 평문 비밀번호를 설정된 비용으로 해시합니다.
+     *
+     * @throws PasswordHashRejectedException 대기열이 가득 찼거나 제한 시간 안에 끝나지 않은 경우
+     */
+    public String hash(String password) {
+        return execute(() -> hashTimer.recordCallable(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost))));
+    }
+
+
+    /**
+     * 평문 비밀번호를 호출한 스레드에서 바로 해시합니다. (대기열/제한 시간 없음)
+     * 요청 처리와 관계없는 일괄 작업(게시물 가져오기)이 자체 스레드 풀에서 사용합니다.
+     */
+    public String hashInCurrentThread(String password) {
+        return hashTimer.record(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost)));
+    }
+
+
+    /**
+     * 값이 BCrypt 해시 형식($2a$10$ + 53자)인지 확인합니다.
+     */
+    public boolean isHashed(String value) {
+        return value != null && BCRYPT_PATTERN.matcher(value).matches();
+    }
+
+
+    /**
+     * 평문 비밀번호가 해시와 일치하는지 확인합니다.
+     *
+     * @throws PasswordHashRejectedException 대기열이 가득 찼거나 제한 시간 안에 끝나지 않은 경우
+     */
+    public boolean verify(String password, String hashed) {
+        return execute(() -> verifyTimer.recordCallable(() -> BCrypt.checkpw(password, hashed)));
+    }
+
+
+    /**
+     * 저장된 해시의 비용이 현재 설정보다 낮은지 확인합니다. ($2a$10$... 형식)
+     */
+    public boolean needsRehash(String hashed) {
+        if (hashed == null || hashed.length() < 7 || hashed.charAt(0) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hashed.substring(4, 6)) < cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * 현재 설정된 비용으로 다시 해시하여 onHashed 에 전달합니다. (기다리지 않음)
+     * 검증에 성공한 뒤 비용을 올리는 용도이므로, 대기열이 가득 차면 이번에는 건너뜁니다.
+     */
+    public void rehashAsync(String password, Consumer<String> onHashed) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onHashed.accept(hashTimer.recordCallable(() -> BCrypt.hashpw(password, BCrypt.gensalt(cost))));
+                } catch (Exception e) {
+                    log.error("비밀번호 재해시 중 오류 : {}", e.getLocalizedMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("비밀번호 재해시 대기열이 가득 차서 건너뜀");
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashRejectedException("요청이 많아 비밀번호를 확인할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashRejectedException("요청이 많아 비밀번호를 확인할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashRejectedException("비밀번호 확인이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.study.connection.service.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인에 사용하는 n-gram 토크나이저입니다.
+ * 한글은 형태소 분석 없이도 부분 일치 검색이 가능하도록, 공백으로 나눈 단어를 1글자(unigram)와 2글자(bigram) 단위로 자릅니다.
+ * 예) "게시판 검색" → [게, 시, 판, 게시, 시판, 검, 색, 검색]
+ */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    /**
+     * 색인할 문자열을 토큰 집합으로 변환합니다. (unigram + bigram)
+     *
+     * @param text 색인할 문자열
+     * @return 중복이 제거된 토큰 집합
+     */
+    public static Set<String> indexTokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : split(text)) {
+            for (int i = 0; i < word.length(); i++) {
+                tokens.add(word.substring(i, i + 1));
+                if (i + 1 < word.length()) {
+                    tokens.add(word.substring(i, i + 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 검색어를 토큰 집합으로 변환합니다.
+     * 2글자 이상인 단어는 bigram 만, 1글자 단어는 unigram 을 사용합니다. 모든 토큰이 일치해야 검색 결과에 포함됩니다.
+     *
+     * @param keyword 검색어
+     * @return 중복이 제거된 토큰 집합
+     */
+    public static Set<String> queryTokens(String keyword) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : split(keyword)) {
+            if (word.length() == 1) {
+                tokens.add(word);
+                continue;
+            }
+            for (int i = 0; i + 1 < word.length(); i++) {
+                tokens.add(word.substring(i, i + 2));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 전각/반각, 대소문자 차이를 없앤 문자열을 반환합니다. (null 이면 빈 문자열)
+     * 색인한 본문과 검색어를 같은 방식으로 정규화하여 비교합니다.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    // 정규화한 뒤 공백 기준으로 단어를 나눔
+    private static String[] split(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return normalize(text).trim().split("\\s+");
+    }
+}
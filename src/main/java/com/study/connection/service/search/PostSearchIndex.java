@@ -0,0 +1,398 @@
+package com.study.connection.service.search;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.filter.SearchResultDTO;
+import com.study.connection.dto.post.PostIndexDTO;
+import com.study.connection.service.event.PostsImportedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시물 제목/작성자/내용에 대한 메모리 역색인(inverted index) 입니다.
+ * LIKE '%검색어%' 로 게시물 테이블 전체를 읽는 대신, n-gram 토큰별 게시물 ID 목록을 교집합하여 검색합니다.
+ * · 토큰 교집합은 후보일 뿐이므로(어순/띄어쓰기가 다른 글도 포함됨), 색인에 저장한 본문에 검색어가 그대로 들어 있는지 다시 확인하여
+ *   LIKE 검색과 같은 결과를 반환합니다. (대소문자, 전각/반각 차이는 무시)
+ * · 애플리케이션 시작 시 게시물 테이블 전체를 읽어 색인을 만들고, 이후에는 등록/수정/삭제 시 증분 갱신합니다.
+ *   등록/수정은 DB 에 저장된 행({@link PostIndexDTO})을 그대로 반영하므로 등록일도 DB 의 created_at 과 같습니다.
+ * · 색인이 준비되기 전에는 {@link #isReady()} 가 false 이며, 이 동안은 기존 SQL(LIKE) 검색을 사용합니다.
+ * · 재생성은 한 번에 하나씩 실행하며, 새 색인을 따로 만든 뒤 쓰기 락 안에서 교체합니다.
+ *   재생성 중에도 검색은 기존 색인을 사용하므로 비어 있거나 만들다 만 색인이 보이지 않습니다. (재생성 중에는 색인 두 벌만큼 메모리 사용)
+ * · 검색 결과는 기존 목록과 같은 최신순(게시물 ID 내림차순)으로 정렬되어, 페이지 번호/커서 이동과 순서가 일치합니다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final int PAGE_SIZE = 10;
+
+    private final PostDAO postDAO;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 재생성 요청을 한 스레드에서 차례로 실행, 실행 중에 들어온 요청은 끝난 뒤 한 번만 다시 실행
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-search-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    // 검색에 사용하는 색인 (lock 으로 보호, 재생성이 끝나면 새 색인으로 교체)
+    private Index index = new Index();
+
+    // 색인 생성 중 등록/수정/삭제된 게시물 (게시물 ID → 변경 후 내용, 삭제는 null)
+    // 생성 중인 스캔은 변경 전 내용을 읽었을 수 있으므로, 새 색인으로 교체하기 전에 다시 반영
+    private final Map<Integer, IndexedPost> changedWhileBuilding = new HashMap<>();
+    private boolean building;
+    private volatile boolean ready;
+
+    public PostSearchIndex(PostDAO postDAO) {
+        this.postDAO = postDAO;
+    }
+
+
+    /**
+     * 애플리케이션이 준비되면 별도 스레드에서 게시물 테이블 전체를 읽어 색인을 생성합니다.
+     * 결과는 한 행씩 처리하므로 게시물 수와 관계없이 조회 결과 전체를 메모리에 올리지 않습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+
+    /**
+     * 게시물을 일괄로 가져온 뒤 별도 스레드에서 색인을 다시 생성합니다.
+     * 아직 시작 시 색인 생성 전이면(시작 시 가져오기) 건너뜁니다.
+     */
+    @EventListener
+    public void onPostsImported(PostsImportedEvent event) {
+        if (!ready && !isBuilding()) {
+            return;
+        }
+        requestRebuild();
+    }
+
+
+    /**
+     * 별도 스레드에서 색인을 다시 생성하도록 요청합니다.
+     * 재생성이 이미 실행 중이면 끝난 뒤 한 번 더 실행하며, 그 사이의 요청은 하나로 합칩니다.
+     */
+    public void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                // 스캔을 시작하기 전에 해제하여, 스캔 중에 들어온 요청은 다음 재생성으로 이어지게 함
+                rebuildQueued.set(false);
+                rebuild();
+            });
+        }
+    }
+
+
+    /**
+     * 색인을 처음부터 다시 생성합니다. (호출한 스레드에서 실행, 동시에 호출되면 차례로 실행)
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            building = true;
+            changedWhileBuilding.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            // 새 색인은 이 스레드에서만 사용하므로 락 없이 채움
+            Index fresh = new Index();
+            postDAO.scanPostsForIndex(context -> {
+                PostIndexDTO post = context.getResultObject();
+                fresh.put(post.getPostId(), IndexedPost.of(post));
+            });
+
+            lock.writeLock().lock();
+            try {
+                changedWhileBuilding.forEach((postId, post) -> {
+                    if (post == null) {
+                        fresh.remove(postId);
+                    } else {
+                        fresh.put(postId, post);
+                    }
+                });
+                index = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("게시물 검색 색인 생성 완료 : {}건, {}ms", size(), System.currentTimeMillis() - start);
+
+        } catch (Exception e) {
+            log.error("게시물 검색 색인 생성 중 오류 (기존 색인 또는 LIKE 검색 사용) : {}", e.getLocalizedMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                changedWhileBuilding.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+
+    public boolean isReady() {
+        return ready;
+    }
+
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * 등록/수정된 게시물을 색인에 추가하거나 갱신합니다.
+     * 색인에 아직 없는 게시물(색인 생성 중 등)도 추가하며, 생성 중이면 새 색인에도 반영됩니다.
+     *
+     * @param post 저장된 게시물 (PostDAO#getPostForIndex)
+     */
+    public void put(PostIndexDTO post) {
+        IndexedPost indexed = IndexedPost.of(post);
+        lock.writeLock().lock();
+        try {
+            index.put(post.getPostId(), indexed);
+            recordChange(post.getPostId(), indexed);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * 삭제된 게시물을 색인에서 제거합니다.
+     */
+    public void remove(int postId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(postId);
+            recordChange(postId, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * 검색 조건(검색어, 날짜, 카테고리)에 맞는 게시물 ID 한 페이지와 전체 검색 건수를 한 번에 반환합니다.
+     * 커서(cursorId)가 있으면 커서 기준으로, 없으면 offset 기준으로 페이지를 자릅니다.
+     *
+     * @param filter 검색 조건
+     * @return {@link SearchResultDTO} 게시물 ID 목록(최신순)과 전체 검색 건수
+     */
+    public SearchResultDTO search(PostFilterDTO filter) {
+        Set<String> tokens = NGramTokenizer.queryTokens(filter.getKeyword());
+        if (tokens.isEmpty()) {
+            return new SearchResultDTO(List.of(), 0);
+        }
+        String keyword = NGramTokenizer.normalize(filter.getKeyword());
+
+        List<Integer> matched = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Integer> candidates = new HashSet<>();
+            candidates.addAll(index.match(index.titleIndex, tokens));
+            candidates.addAll(index.match(index.writerIndex, tokens));
+            candidates.addAll(index.match(index.contentIndex, tokens));
+
+            for (Integer postId : candidates) {
+                IndexedPost post = index.posts.get(postId);
+                if (post.matches(filter) && post.contains(keyword)) {
+                    matched.add(postId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matched.sort(Collections.reverseOrder());
+        return new SearchResultDTO(page(matched, filter), matched.size());
+    }
+
+
+    private boolean isBuilding() {
+        lock.readLock().lock();
+        try {
+            return building;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 쓰기 락을 잡은 상태에서 호출해야 함
+    private void recordChange(int postId, IndexedPost post) {
+        if (building) {
+            changedWhileBuilding.put(postId, post);
+        }
+    }
+
+
+    // 최신순으로 정렬된 검색 결과에서 요청한 한 페이지를 잘라냄
+    private List<Integer> page(List<Integer> matched, PostFilterDTO filter) {
+        int from;
+        int to;
+        if (filter.getCursorId() != 0) {
+            int position = Collections.binarySearch(matched, filter.getCursorId(), Collections.reverseOrder());
+            // 커서 게시물이 결과에 없다면(삭제 등) 삽입 위치를 기준으로 함
+            int index = position >= 0 ? position : -(position + 1);
+            if (filter.isCursorPrev()) {
+                to = index;
+                from = Math.max(0, to - PAGE_SIZE);
+            } else {
+                from = position >= 0 ? index + 1 : index;
+                to = Math.min(matched.size(), from + PAGE_SIZE);
+            }
+        } else {
+            from = Math.min(filter.getOffset(), matched.size());
+            to = Math.min(matched.size(), from + PAGE_SIZE);
+        }
+        return new ArrayList<>(matched.subList(from, to));
+    }
+
+
+    /**
+     * 토큰별 게시물 ID 목록(필드별)과 게시물별 색인 정보입니다. 재생성 시 새로 만들어 통째로 교체합니다.
+     */
+    private static class Index {
+        // 토큰 → 게시물 ID 목록 (필드별)
+        private final Map<String, Set<Integer>> titleIndex = new HashMap<>();
+        private final Map<String, Set<Integer>> writerIndex = new HashMap<>();
+        private final Map<String, Set<Integer>> contentIndex = new HashMap<>();
+        // 게시물 ID → 필터(카테고리, 등록일)와 검색 결과 확인/삭제에 필요한 본문
+        private final Map<Integer, IndexedPost> posts = new HashMap<>();
+
+        void put(int postId, IndexedPost post) {
+            remove(postId);
+            link(titleIndex, NGramTokenizer.indexTokens(post.title), postId);
+            link(writerIndex, NGramTokenizer.indexTokens(post.writer), postId);
+            link(contentIndex, NGramTokenizer.indexTokens(post.content), postId);
+            posts.put(postId, post);
+        }
+
+        // 토큰은 저장한 본문에서 다시 계산 (정규화한 본문의 토큰은 원문의 토큰과 같음)
+        void remove(int postId) {
+            IndexedPost old = posts.remove(postId);
+            if (old != null) {
+                unlink(titleIndex, NGramTokenizer.indexTokens(old.title), postId);
+                unlink(writerIndex, NGramTokenizer.indexTokens(old.writer), postId);
+                unlink(contentIndex, NGramTokenizer.indexTokens(old.content), postId);
+            }
+        }
+
+        // 모든 토큰을 포함하는 게시물 ID 의 교집합 (가장 짧은 목록부터 교집합)
+        Set<Integer> match(Map<String, Set<Integer>> index, Set<String> tokens) {
+            List<Set<Integer>> postings = new ArrayList<>();
+            for (String token : tokens) {
+                Set<Integer> posting = index.get(token);
+                if (posting == null) {
+                    return Set.of();
+                }
+                postings.add(posting);
+            }
+            postings.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            Set<Integer> result = new HashSet<>(postings.get(0));
+            for (int i = 1; i < postings.size() && !result.isEmpty(); i++) {
+                result.retainAll(postings.get(i));
+            }
+            return result;
+        }
+
+        private void link(Map<String, Set<Integer>> index, Set<String> tokens, int postId) {
+            for (String token : tokens) {
+                index.computeIfAbsent(token, key -> new HashSet<>()).add(postId);
+            }
+        }
+
+        private void unlink(Map<String, Set<Integer>> index, Set<String> tokens, int postId) {
+            for (String token : tokens) {
+                Set<Integer> posting = index.get(token);
+                if (posting != null) {
+                    posting.remove(postId);
+                    if (posting.isEmpty()) {
+                        index.remove(token);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * 색인된 게시물 한 건의 필터 정보와 정규화한 본문(제목/작성자/내용)입니다.
+     * 토큰 집합 대신 본문을 저장하며, 토큰은 색인에 연결/해제할 때만 계산합니다.
+     */
+    private static class IndexedPost {
+        private final int categoryId;
+        private final String createdDate;
+        private final String title;
+        private final String writer;
+        private final String content;
+
+        IndexedPost(int categoryId, String createdDate, String title, String writer, String content) {
+            this.categoryId = categoryId;
+            this.createdDate = createdDate;
+            this.title = title;
+            this.writer = writer;
+            this.content = content;
+        }
+
+        static IndexedPost of(PostIndexDTO post) {
+            return new IndexedPost(post.getCategoryId(), post.getCreatedDate(), NGramTokenizer.normalize(post.getTitle()),
+                    NGramTokenizer.normalize(post.getWriter()), NGramTokenizer.normalize(post.getContent()));
+        }
+
+        // LIKE '%검색어%' 와 같이 어느 한 필드에 검색어가 그대로(띄어쓰기, 어순 포함) 들어 있는지 확인
+        boolean contains(String keyword) {
+            return title.contains(keyword) || writer.contains(keyword) || content.contains(keyword);
+        }
+
+        // 날짜(yyyy-MM-dd 문자열 비교) / 카테고리 조건 확인
+        boolean matches(PostFilterDTO filter) {
+            if (filter.getCategoryId() != 0 && filter.getCategoryId() != categoryId) {
+                return false;
+            }
+            String startDate = filter.getStartDate();
+            String endDate = filter.getEndDate();
+            if (startDate != null && endDate != null && !startDate.isEmpty() && !endDate.isEmpty()) {
+                return createdDate.compareTo(startDate) >= 0 && createdDate.compareTo(endDate) <= 0;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+-- 게시판 기본 스키마 (Flyway 도입 이전에 수동으로 만들던 스키마)
+-- · 이미 운영 중인 DB 는 spring.flyway.baseline-on-migrate 로 이 버전을 적용된 것으로 기록하고 V2 부터 적용
+-- · 새 DB 는 이 스크립트부터 차례로 적용
+CREATE TABLE category (
+    category_id   INT         NOT NULL AUTO_INCREMENT,
+    category_name VARCHAR(50) NOT NULL,
+    PRIMARY KEY (category_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+CREATE TABLE post (
+    post_id     INT          NOT NULL AUTO_INCREMENT,
+    category_id INT          NOT NULL,
+    title       VARCHAR(100) NOT NULL,
+    content     TEXT         NOT NULL,
+    writer      VARCHAR(20)  NOT NULL,
+    password    VARCHAR(100) NOT NULL,
+    views       INT          NOT NULL DEFAULT 0,
+    created_at  DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at  DATETIME     NULL,
+    PRIMARY KEY (post_id),
+    CONSTRAINT fk_post_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+-- 게시물 삭제 시 첨부파일 메타데이터를 먼저 삭제해야 함 (RESTRICT)
+CREATE TABLE file (
+    file_id      INT          NOT NULL AUTO_INCREMENT,
+    post_id      INT          NOT NULL,
+    file_name    VARCHAR(255) NOT NULL,
+    file_size    BIGINT       NOT NULL,
+    content_type VARCHAR(100) NULL,
+    file_path    VARCHAR(500) NOT NULL,
+    PRIMARY KEY (file_id),
+    CONSTRAINT fk_file_post FOREIGN KEY (post_id) REFERENCES post (post_id) ON DELETE RESTRICT
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
+
+INSERT INTO category (category_name) VALUES ('Java'), ('Javascript'), ('Database');
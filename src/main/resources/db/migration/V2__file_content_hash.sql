@@ -0,0 +1,6 @@
+-- 첨부파일 내용 주소(content-addressed) 저장을 위한 컬럼
+-- · content_hash : 파일 내용의 SHA-256 (hex), 같은 값을 가진 행의 수가 실제 파일의 참조 수
+-- · 이전 방식으로 저장된 파일은 NULL (게시물별 경로에 저장되어 있으므로 삭제 시 바로 삭제)
+ALTER TABLE file
+    ADD COLUMN content_hash CHAR(64) NULL AFTER file_path,
+    ADD INDEX idx_file_content_hash (content_hash);
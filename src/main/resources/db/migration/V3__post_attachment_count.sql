@@ -0,0 +1,10 @@
+-- 게시물별 첨부파일 수 (목록 조회의 fileExist 상관 서브쿼리 제거용)
+-- · 첨부파일 추가/삭제 시 PostService 에서 함께 갱신
+-- · 어긋난 값은 AttachmentCountChecker 가 주기적으로 찾아 바로잡음
+ALTER TABLE post
+    ADD COLUMN attachment_count INT NOT NULL DEFAULT 0;
+
+-- 기존 데이터 1회 채우기 (backfill)
+UPDATE post p
+    JOIN (SELECT post_id, COUNT(*) AS cnt FROM file GROUP BY post_id) f ON f.post_id = p.post_id
+SET p.attachment_count = f.cnt;
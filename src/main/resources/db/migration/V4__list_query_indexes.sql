@@ -0,0 +1,8 @@
+-- 목록/건수 조회의 검색 조건(condition)과 정렬에 필요한 인덱스
+-- · 카테고리만 있는 조건은 fk_post_category 인덱스 (category_id, [post_id]) 로 정렬까지 처리됨
+-- · 카테고리 + 기간 : (category_id, created_at) 범위 탐색
+-- · 기간만 있는 조건 : (created_at) 범위 탐색
+-- · file(post_id) 는 fk_file_post 외래 키 인덱스를 사용
+-- 각 쿼리의 실행 계획은 ExplainPlanTest 에서 확인함
+CREATE INDEX idx_post_category_created ON post (category_id, created_at);
+CREATE INDEX idx_post_created ON post (created_at);
@@ -0,0 +1,13 @@
+-- 이미지 첨부파일의 미리보기(thumb), 웹용(web) 축소본
+-- · 첨부파일 메타데이터가 삭제되면 함께 삭제 (디스크의 축소본은 AttachmentStorage 에서 삭제)
+CREATE TABLE file_variant (
+    file_id      INT          NOT NULL,
+    variant      VARCHAR(20)  NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    width        INT          NOT NULL,
+    height       INT          NOT NULL,
+    file_size    BIGINT       NOT NULL,
+    file_path    VARCHAR(500) NOT NULL,
+    PRIMARY KEY (file_id, variant),
+    CONSTRAINT fk_file_variant_file FOREIGN KEY (file_id) REFERENCES file (file_id) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
@@ -0,0 +1,9 @@
+-- 게시물 일괄 가져오기(BulkImportService)의 진행 위치
+-- · source : 가져오는 NDJSON 파일의 절대 경로, line_no : 반영이 끝난 마지막 줄 번호
+-- · 게시물 INSERT 와 같은 트랜잭션에서 갱신하므로, 중단 후 다시 실행하면 이어서 가져옴 (중복 없음)
+CREATE TABLE import_checkpoint (
+    source     VARCHAR(500) NOT NULL,
+    line_no    BIGINT       NOT NULL,
+    updated_at DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (source)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
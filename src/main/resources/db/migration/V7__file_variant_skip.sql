@@ -0,0 +1,10 @@
+-- 축소본을 만들 수 없는 이미지 첨부파일 (지원하지 않는 형식, 손상된 이미지, board.image.max-pixels 초과)
+-- · ImageVariantService 의 보충 작업은 이 테이블에 있는 파일을 다시 읽지 않음
+--   (board.image.max-pixels 를 늘리는 등 다시 시도하려면 행을 삭제)
+-- · 첨부파일 메타데이터가 삭제되면 함께 삭제
+CREATE TABLE file_variant_skip (
+    file_id    INT      NOT NULL,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (file_id),
+    CONSTRAINT fk_file_variant_skip_file FOREIGN KEY (file_id) REFERENCES file (file_id) ON DELETE CASCADE
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_unicode_ci;
@@ -0,0 +1,209 @@
+package com.study.connection.perf;
+
+import com.study.connection.dto.file.StoredFileDTO;
+import com.study.connection.service.cache.PostCountCache;
+import com.study.connection.service.file.AttachmentStorage;
+import com.study.connection.service.search.PostSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2(MySQL 호환 모드)에 대량의 게시물/첨부파일을 넣고 애플리케이션 전체에 부하를 주는 테스트입니다.
+ * MySQL, Docker 없이 일반 리눅스 장비에서 오프라인으로 실행할 수 있습니다.
+ * <pre>
+ * ./gradlew perfTest -Pperf.posts=1000000 -Pperf.concurrency=64 -Pperf.durationSeconds=30
+ * </pre>
+ * · perf.posts : 게시물 수 (기본 1,000,000) / perf.filesEvery : N 번째 게시물마다 첨부파일 1개 (기본 10)
+ * · perf.concurrency : 동시 사용자 수 (기본 64) / perf.warmupSeconds, perf.durationSeconds : 시나리오별 워밍업/측정 시간
+ * · perf.scenarios : 실행할 시나리오 (쉼표 구분, 기본 전체) / perf.maxErrorRate : 허용 오류율 (기본 0.01)
+ * 결과(처리량, p50/p99/p999)는 표준 출력과 build/reports/perf/*.csv 에 기록됩니다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("perf")
+class BoardLoadTest {
+
+    private static final int POSTS = Integer.getInteger("perf.posts", 1_000_000);
+    private static final int FILES_EVERY = Integer.getInteger("perf.filesEvery", 10);
+    private static final int CONCURRENCY = Integer.getInteger("perf.concurrency", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("perf.warmupSeconds", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("perf.durationSeconds", 20));
+    private static final String SCENARIOS = System.getProperty("perf.scenarios", "");
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("perf.maxErrorRate", "0.01"));
+
+    private static final int SEED_CHUNK = 100_000;
+    private static final String PASSWORD = "perf1234";
+    private static final String[] KEYWORDS = {"스프링", "자바", "데이터베이스", "성능"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AttachmentStorage attachmentStorage;
+
+    @Autowired
+    private PostSearchIndex searchIndex;
+
+    @Autowired
+    private PostCountCache postCountCache;
+
+
+    @Test
+    void load() throws Exception {
+        seed();
+
+        Set<String> selected = SCENARIOS.isBlank() ? Set.of() : Set.of(SCENARIOS.split(","));
+        LoadDriver driver = new LoadDriver(CONCURRENCY);
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Map.Entry<String, Supplier<HttpRequest>> scenario : scenarios().entrySet()) {
+            if (selected.isEmpty() || selected.contains(scenario.getKey())) {
+                results.add(driver.run(scenario.getKey(), scenario.getValue(), WARMUP, DURATION));
+            }
+        }
+
+        report(results);
+        for (ScenarioResult result : results) {
+            assertThat(result.errorRate()).as(result.name()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        }
+    }
+
+
+    private Map<String, Supplier<HttpRequest>> scenarios() {
+        Map<String, Supplier<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("list-first", () -> get("/posts?page=1"));
+        scenarios.put("list-offset-deep", () -> get("/posts?page=10"));
+        scenarios.put("list-cursor-deep", () -> get("/posts?page=11&cursor=" + nextCursor(randomPostId())));
+        scenarios.put("list-keyword", () -> get("/posts?page=1&keyword="
+                + URLEncoder.encode(KEYWORDS[random().nextInt(KEYWORDS.length)], StandardCharsets.UTF_8)));
+        scenarios.put("list-category", () -> get("/posts?page=" + (random().nextInt(10) + 1)
+                + "&categoryId=" + (random().nextInt(3) + 1)));
+        scenarios.put("list-date", () -> {
+            int month = random().nextInt(12) + 1;
+            return get(String.format("/posts?page=1&startDate=2024-%02d-01&endDate=2024-%02d-28", month, month));
+        });
+        scenarios.put("article", () -> get("/post/" + randomPostId() + "?page=1"));
+        scenarios.put("download", () -> get("/download?seq=" + (random().nextInt(Math.max(1, POSTS / FILES_EVERY)) + 1)));
+        scenarios.put("write", this::createPost);
+        return scenarios;
+    }
+
+
+    // 게시물과 첨부파일을 SYSTEM_RANGE 로 한 번에 생성 (첨부파일은 모두 같은 내용이므로 실제 파일 하나를 공유)
+    private void seed() throws IOException {
+        long start = System.currentTimeMillis();
+        String hashed = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(4));
+        long stepSeconds = Math.max(1, 365L * 24 * 60 * 60 / POSTS);
+
+        for (int from = 1; from <= POSTS; from += SEED_CHUNK) {
+            int to = Math.min(POSTS, from + SEED_CHUNK - 1);
+            jdbcTemplate.update("INSERT INTO post (category_id, title, content, writer, password, views, created_at)"
+                    + " SELECT MOD(X, 3) + 1,"
+                    + " CONCAT('게시물 ', X, ' ', CASE MOD(X, 4) WHEN 0 THEN '스프링' WHEN 1 THEN '자바'"
+                    + "   WHEN 2 THEN '데이터베이스' ELSE '성능' END),"
+                    + " CONCAT('게시물 내용 ', X), CONCAT('작성자', MOD(X, 1000)), ?, MOD(X, 5000),"
+                    + " DATEADD(SECOND, X * " + stepSeconds + ", TIMESTAMP '2024-01-01 00:00:00')"
+                    + " FROM SYSTEM_RANGE(" + from + ", " + to + ")", hashed);
+        }
+
+        byte[] content = new byte[64 * 1024];
+        new Random(42).nextBytes(content);
+        StoredFileDTO stored = attachmentStorage.store(new ByteArrayInputStream(content));
+        jdbcTemplate.update("INSERT INTO file (post_id, file_name, file_size, content_type, file_path, content_hash)"
+                + " SELECT X, CONCAT('첨부파일', X, '.bin'), ?, 'application/octet-stream', ?, ?"
+                + " FROM SYSTEM_RANGE(1, " + POSTS + ") WHERE MOD(X, " + FILES_EVERY + ") = 0",
+                stored.getFileSize(), stored.getFilePath(), stored.getContentHash());
+        jdbcTemplate.update("UPDATE post SET attachment_count = 1 WHERE MOD(post_id, " + FILES_EVERY + ") = 0");
+
+        // 애플리케이션 시작 시점에는 테이블이 비어 있었으므로 다시 생성
+        searchIndex.rebuild();
+        postCountCache.resyncCounters();
+        System.out.printf("seeded %,d posts / %,d files in %,d ms (search index %,d posts)%n",
+                POSTS, POSTS / FILES_EVERY, System.currentTimeMillis() - start, searchIndex.size());
+    }
+
+
+    private HttpRequest createPost() {
+        MultipartBody body = new MultipartBody()
+                .field("categoryId", String.valueOf(random().nextInt(3) + 1))
+                .field("title", "부하 테스트 게시물 " + random().nextInt(1_000_000))
+                .field("content", "부하 테스트 내용")
+                .field("writer", "부하테스트")
+                .field("password", PASSWORD)
+                .file("files", "perf.txt", "text/plain", ("perf " + random().nextLong()).getBytes(StandardCharsets.UTF_8));
+        return HttpRequest.newBuilder(uri("/post"))
+                .header("Content-Type", body.contentType())
+                .POST(body.build())
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private int randomPostId() {
+        return random().nextInt(POSTS) + 1;
+    }
+
+    // PostService 의 커서 형식 (방향:게시물 ID 를 Base64 URL-safe 로 인코딩)
+    private String nextCursor(int postId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("n:" + postId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+
+    private void report(List<ScenarioResult> results) throws IOException {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%nposts=%,d concurrency=%d duration=%ds%n", POSTS, CONCURRENCY, DURATION.toSeconds()));
+        table.append(ScenarioResult.HEADER).append('\n');
+        StringBuilder csv = new StringBuilder("scenario,requests,errors,throughput,p50_ms,p99_ms,p999_ms\n");
+        for (ScenarioResult result : results) {
+            table.append(result.toRow()).append('\n');
+            csv.append(result.toCsv()).append('\n');
+        }
+        System.out.println(table);
+
+        Path reportDir = Paths.get(System.getProperty("perf.reportDir", "build/reports/perf"));
+        Files.createDirectories(reportDir);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Files.writeString(reportDir.resolve("load-test-" + timestamp + ".csv"), csv);
+    }
+}
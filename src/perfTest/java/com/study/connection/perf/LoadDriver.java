@@ -0,0 +1,119 @@
+package com.study.connection.perf;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 지정한 동시 사용자 수만큼 가상 스레드를 만들어, 정해진 시간 동안 요청을 쉬지 않고 보냅니다. (closed model)
+ * 응답 시간은 사용자(스레드)별로 기록한 뒤 합쳐서 백분위수를 계산합니다.
+ * 2xx, 3xx 응답은 성공, 그 외 응답과 예외는 오류로 집계합니다.
+ */
+final class LoadDriver {
+
+    private final HttpClient client;
+    private final int concurrency;
+
+    LoadDriver(int concurrency) {
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+
+    /**
+     * 워밍업 후 측정합니다. 워밍업 구간의 결과는 버립니다.
+     */
+    ScenarioResult run(String name, Supplier<HttpRequest> requests, Duration warmup, Duration duration)
+            throws InterruptedException {
+        drive(requests, warmup);
+        long start = System.nanoTime();
+        List<User> users = drive(requests, duration);
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        int errors = 0;
+        for (User user : users) {
+            total += user.count;
+            errors += user.errors;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (User user : users) {
+            System.arraycopy(user.latencies, 0, latencies, offset, user.count);
+            offset += user.count;
+        }
+        Arrays.sort(latencies);
+        return new ScenarioResult(name, total, errors, elapsed, latencies);
+    }
+
+
+    private List<User> drive(Supplier<HttpRequest> requests, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<User> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            User user = new User(requests, deadline);
+            users.add(user);
+            threads.add(Thread.ofVirtual().name("load-user-" + i).start(user));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return users;
+    }
+
+
+    // 가상 사용자 한 명, 응답 시간(ns)은 자신의 배열에만 기록하므로 동기화가 필요 없음
+    private final class User implements Runnable {
+        private final Supplier<HttpRequest> requests;
+        private final long deadline;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        User(Supplier<HttpRequest> requests, long deadline) {
+            this.requests = requests;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                HttpRequest request = requests.get();
+                long start = System.nanoTime();
+                boolean success;
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    success = status >= 200 && status < 400;
+                } catch (IOException e) {
+                    success = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                record(System.nanoTime() - start, success);
+            }
+        }
+
+        private void record(long latency, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!success) {
+                errors++;
+            }
+        }
+    }
+}
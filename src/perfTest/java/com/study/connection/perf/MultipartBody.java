@@ -0,0 +1,44 @@
+package com.study.connection.perf;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 게시물 작성(POST /post) 요청용 multipart/form-data 본문을 만듭니다.
+ */
+final class MultipartBody {
+
+    private final String boundary = "----perf" + UUID.randomUUID().toString().replace("-", "");
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    MultipartBody field(String name, String value) {
+        write("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n");
+        return this;
+    }
+
+    MultipartBody file(String name, String fileName, String contentType, byte[] content) {
+        write("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n\r\n");
+        body.writeBytes(content);
+        write("\r\n");
+        return this;
+    }
+
+    String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    HttpRequest.BodyPublisher build() {
+        write("--" + boundary + "--\r\n");
+        return HttpRequest.BodyPublishers.ofByteArray(body.toByteArray());
+    }
+
+    private void write(String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package com.study.connection.perf;
+
+/**
+ * 시나리오 하나의 측정 결과입니다.
+ *
+ * @param latencies 정렬된 응답 시간 (ns)
+ */
+record ScenarioResult(String name, int requests, int errors, long elapsedNanos, long[] latencies) {
+
+    static final String HEADER = String.format("%-18s %9s %7s %10s %9s %9s %9s",
+            "scenario", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)");
+
+    double throughput() {
+        return requests / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    double errorRate() {
+        return requests == 0 ? 0.0 : (double) errors / requests;
+    }
+
+    // nearest-rank 방식 백분위수 (ms)
+    double percentileMillis(double quantile) {
+        if (latencies.length == 0) {
+            return 0.0;
+        }
+        int rank = (int) Math.ceil(quantile * latencies.length);
+        return latencies[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    String toRow() {
+        return String.format("%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f", name, requests, errors, throughput(),
+                percentileMillis(0.50), percentileMillis(0.99), percentileMillis(0.999));
+    }
+
+    String toCsv() {
+        return String.format("%s,%d,%d,%.1f,%.3f,%.3f,%.3f", name, requests, errors, throughput(),
+                percentileMillis(0.50), percentileMillis(0.99), percentileMillis(0.999));
+    }
+}
@@ -0,0 +1,157 @@
+package com.study.connection;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Flyway 도입 이전부터 운영 중인 DB 를 application.properties 의 baseline 설정으로 마이그레이션할 수 있는지 확인합니다.
+ * · 수동으로 만든 스키마(V1 만, 또는 V1 ~ V3 를 수동 적용)에 게시물과 첨부파일을 넣은 뒤 Flyway 를 실행하고,
+ *   데이터가 그대로 남아 있는지, 결과 스키마가 새 DB 에 모든 마이그레이션을 적용한 것과 같은지 비교합니다.
+ * · baseline-version 을 잘못 지정하면 시작 시 실패하는 것도 확인합니다.
+ */
+@Testcontainers
+@Tag("docker")
+class FlywayBaselineTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withUsername("root")
+            .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+
+
+    @Test
+    void baselineAtV1MigratesHandMadeSchema() throws SQLException {
+        DataSource legacy = database("legacy_v1");
+        applyManually(legacy, "V1__baseline_schema.sql");
+        seedLegacyData(legacy);
+
+        flyway(legacy, "1").migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post", Integer.class)).isEqualTo(2);
+        // V3 의 backfill 이 기존 첨부파일 수를 채움
+        assertThat(jdbcTemplate.queryForList("SELECT attachment_count FROM post ORDER BY post_id", Integer.class))
+                .containsExactly(2, 0);
+        assertThat(jdbcTemplate.queryForList("SELECT content_hash FROM file", String.class)).containsOnlyNulls();
+        assertSameSchemaAsFreshDatabase(legacy);
+    }
+
+
+    @Test
+    void baselineAtV3KeepsManuallyAppliedScripts() throws SQLException {
+        DataSource legacy = database("legacy_v3");
+        applyManually(legacy, "V1__baseline_schema.sql", "V2__file_content_hash.sql", "V3__post_attachment_count.sql");
+        seedLegacyData(legacy);
+        new JdbcTemplate(legacy).update("UPDATE post SET attachment_count = 2 WHERE title = '첨부 있음'");
+
+        flyway(legacy, "3").migrate();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        assertThat(jdbcTemplate.queryForList("SELECT attachment_count FROM post ORDER BY post_id", Integer.class))
+                .containsExactly(2, 0);
+        assertSameSchemaAsFreshDatabase(legacy);
+    }
+
+
+    @Test
+    void wrongBaselineVersionFailsInsteadOfSkippingScripts() throws SQLException {
+        DataSource legacy = database("legacy_wrong_baseline");
+        applyManually(legacy, "V1__baseline_schema.sql", "V2__file_content_hash.sql");
+
+        // V2 를 이미 적용했는데 baseline 을 1 로 지정하면 content_hash 컬럼을 다시 추가하다 실패
+        assertThatThrownBy(() -> flyway(legacy, "1").migrate()).isInstanceOf(FlywayException.class);
+    }
+
+
+    // 빈 데이터베이스를 만들어 반환
+    private DataSource database(String name) {
+        new JdbcTemplate(dataSource(mysql.getDatabaseName())).execute("CREATE DATABASE " + name);
+        return dataSource(name);
+    }
+
+
+    private DataSource dataSource(String databaseName) {
+        String url = mysql.getJdbcUrl().replace("/" + mysql.getDatabaseName(), "/" + databaseName);
+        return new DriverManagerDataSource(url, mysql.getUsername(), mysql.getPassword());
+    }
+
+
+    // Flyway 도입 이전처럼 스크립트를 직접 실행 (flyway_schema_history 없음)
+    private static void applyManually(DataSource dataSource, String... scripts) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String script : scripts) {
+                ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/" + script));
+            }
+        }
+    }
+
+
+    private static void seedLegacyData(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO post (category_id, title, content, writer, password) VALUES "
+                + "(1, '첨부 있음', '내용', '작성자', 'pw'), (2, '첨부 없음', '내용', '작성자', 'pw')");
+        jdbcTemplate.update("INSERT INTO file (post_id, file_name, file_size, content_type, file_path) "
+                + "SELECT post_id, 'a.txt', 1, 'text/plain', '/upload/1/a.txt' FROM post WHERE title = '첨부 있음' "
+                + "UNION ALL SELECT post_id, 'b.txt', 1, 'text/plain', '/upload/1/b.txt' FROM post WHERE title = '첨부 있음'");
+    }
+
+
+    // application.properties 의 spring.flyway.* 설정과 같게 구성
+    private static Flyway flyway(DataSource dataSource, String baselineVersion) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion(baselineVersion)
+                .load();
+    }
+
+
+    private void assertSameSchemaAsFreshDatabase(DataSource legacy) {
+        DataSource fresh = database("fresh_" + System.nanoTime());
+        flyway(fresh, "1").migrate();
+
+        assertThat(flyway(legacy, "1").info().current().getVersion())
+                .isEqualTo(flyway(fresh, "1").info().current().getVersion());
+        assertThat(columns(legacy)).isEqualTo(columns(fresh));
+        assertThat(indexes(legacy)).isEqualTo(indexes(fresh));
+    }
+
+
+    private static List<Map<String, Object>> columns(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("""
+                SELECT table_name, column_name, column_type, is_nullable, column_default
+                FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name <> 'flyway_schema_history'
+                ORDER BY table_name, ordinal_position
+                """);
+    }
+
+
+    private static List<Map<String, Object>> indexes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("""
+                SELECT table_name, index_name, seq_in_index, column_name, non_unique
+                FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name <> 'flyway_schema_history'
+                ORDER BY table_name, index_name, seq_in_index
+                """);
+    }
+}
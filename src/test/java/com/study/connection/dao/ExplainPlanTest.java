@@ -0,0 +1,293 @@
+package com.study.connection.dao;
+
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.post.PostUpdateDTO;
+import com.study.connection.dto.post.ViewCountDTO;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.ParamNameResolver;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.mybatis.spring.annotation.MapperScan;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PostDAO.xml 의 각 쿼리를 대표 매개변수로 EXPLAIN 하여, 전체 테이블 스캔(type=ALL)이나 filesort 로
+ * 실행 계획이 바뀌면 빌드를 실패시킵니다.
+ * · 스키마는 애플리케이션과 같은 Flyway 마이그레이션(db/migration)으로 생성하고, 옵티마이저가 실제와 비슷한
+ *   계획을 고르도록 게시물 2만 건을 넣은 뒤 ANALYZE TABLE 로 통계를 갱신합니다.
+ * · 검색어 LIKE '%검색어%' 처럼 인덱스로 처리할 수 없는 경우는 {@link Allowance} 로 이유와 함께 허용합니다.
+ * · 새 쿼리를 추가하면 {@link #cases()} 또는 {@link #EXEMPT_STATEMENTS} 에 등록해야 합니다. ({@link #everyStatementIsChecked()})
+ * · Docker 가 필요하므로 test 가 아닌 dockerTest 작업에서 실행됩니다. (check 에 포함, Docker 가 없으면 빌드 실패)
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Tag("docker")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ExplainPlanTest.MapperConfig.class)
+class ExplainPlanTest {
+
+    private static final String NAMESPACE = PostDAO.class.getName() + ".";
+    private static final int SEED_POSTS = 20_000;
+
+    // 실행 계획을 확인하지 않는 쿼리와 그 이유
+    private static final Map<String, String> EXEMPT_STATEMENTS = Map.of(
+            "scanPostsForIndex", "검색 색인 생성을 위해 전체 게시물을 읽는 쿼리 (전체 스캔이 의도된 동작)",
+            "findAttachmentCountMismatches", "주기적인 정합성 점검으로 전체 게시물을 확인하는 쿼리",
+            "getImageSourcesWithoutVariant", "주기적인 축소본 보충 작업으로 첨부파일을 파일 ID 순으로 훑는 쿼리",
+            "insertFileVariants", "INSERT 는 조회 조건이 없음",
+            "insertFileVariantSkip", "INSERT 는 조회 조건이 없음 (PK 중복 시 UPDATE)",
+            "insertPost", "INSERT 는 조회 조건이 없음",
+            "insertFileMeta", "INSERT 는 조회 조건이 없음",
+            "insertFileMetaBatch", "INSERT 는 조회 조건이 없음",
+            "insertPostBatch", "INSERT 는 조회 조건이 없음",
+            "saveImportCheckpoint", "INSERT 는 조회 조건이 없음 (PK 중복 시 UPDATE)");
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @BeforeEach
+    void seed() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post", Integer.class);
+        if (count != null && count >= SEED_POSTS) {
+            return;
+        }
+        // 재귀 CTE 기본 깊이(1000)를 넘지 않도록 200 × 100 으로 만듦
+        jdbcTemplate.update("""
+                INSERT INTO post (category_id, title, content, writer, password, views, created_at)
+                WITH RECURSIVE a (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM a WHERE n < 199),
+                               b (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM b WHERE n < 99)
+                SELECT 1 + (a.n * 100 + b.n) % 3,
+                       CONCAT('제목 ', a.n * 100 + b.n),
+                       CONCAT('내용 ', a.n * 100 + b.n),
+                       CONCAT('작성자', b.n),
+                       '$2a$10$abcdefghijklmnopqrstuuFG7ZqUDPmK0XfNQbq1tYu0LG8kSFeMe',
+                       b.n,
+                       NOW() - INTERVAL (a.n * 100 + b.n) % 730 DAY
+                FROM a CROSS JOIN b
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO file (post_id, file_name, file_size, content_type, file_path, content_hash)
+                SELECT post_id, CONCAT('file-', post_id, '.txt'), 100, 'text/plain',
+                       CONCAT('objects/', SHA2(post_id, 256)), SHA2(post_id, 256)
+                FROM post WHERE post_id % 10 = 0
+                """);
+        jdbcTemplate.update("UPDATE post SET attachment_count = 1 WHERE post_id % 10 = 0");
+        jdbcTemplate.queryForList("ANALYZE TABLE category, post, file");
+    }
+
+
+    @TestFactory
+    Stream<DynamicTest> explainPlans() {
+        return cases().stream().map(planCase -> DynamicTest.dynamicTest(planCase.statement() + " : " + planCase.name(),
+                () -> assertPlan(planCase)));
+    }
+
+
+    @Test
+    void everyStatementIsChecked() {
+        Set<String> statements = new TreeSet<>();
+        for (String name : configuration().getMappedStatementNames()) {
+            if (name.startsWith(NAMESPACE) && !name.contains("!")) {
+                statements.add(name.substring(NAMESPACE.length()));
+            }
+        }
+        Set<String> checked = new TreeSet<>(EXEMPT_STATEMENTS.keySet());
+        cases().forEach(planCase -> checked.add(planCase.statement()));
+
+        assertThat(checked)
+                .as("PostDAO.xml 의 모든 쿼리는 실행 계획 확인 대상이거나 예외로 등록되어야 합니다")
+                .containsAll(statements);
+    }
+
+
+    // 쿼리별 대표 매개변수 (검색 조건은 목록 화면에서 사용하는 조합)
+    private List<PlanCase> cases() {
+        List<PlanCase> cases = new ArrayList<>();
+        for (String statement : List.of("countAllPosts", "getFilteredPosts", "getPostsByCursor", "exportPosts")) {
+            // 내보내기는 조건에 맞는 모든 행을 읽으므로 전체 스캔은 허용 (정렬은 PK 순서를 그대로 사용해야 함)
+            Set<Allowance> base = switch (statement) {
+                case "exportPosts" -> EnumSet.of(Allowance.FULL_SCAN);
+                default -> EnumSet.noneOf(Allowance.class);
+            };
+
+            cases.add(new PlanCase(statement, "전체", filter(null, null, 0, null), base));
+            cases.add(new PlanCase(statement, "카테고리", filter(null, null, 2, null), base));
+            // 기간 조건은 created_at 범위로 찾은 뒤 post_id 순으로 정렬해야 함
+            cases.add(new PlanCase(statement, "기간", filter("2024-01-01", "2024-01-31", 0, null),
+                    with(base, Allowance.FILESORT)));
+            cases.add(new PlanCase(statement, "카테고리 + 기간", filter("2024-01-01", "2024-01-31", 2, null),
+                    with(base, Allowance.FILESORT)));
+            // LIKE '%검색어%' 는 인덱스를 사용할 수 없음 (검색 색인이 준비되기 전에만 사용)
+            cases.add(new PlanCase(statement, "검색어", filter(null, null, 0, "제목 12"),
+                    with(base, Allowance.FULL_SCAN)));
+        }
+
+        cases.add(new PlanCase("countPostsByCategory", "카테고리별", null, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getPostCategoryId", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getPostsByIds", "게시물 ID 목록", ParamNameResolver.wrapToMapIfCollection(List.of(10, 20, 30), null),
+                EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getCategoryList", "전체", null, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getPostDetails", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getPostForIndex", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getFileMeta", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getFileIdList", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getFileDownloadData", "파일 ID", 1, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getFileDownloadDataList", "게시물 ID + 파일 ID 목록", postAndFiles(100, List.of(1, 2)),
+                EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getFileVariant", "파일 ID + 축소본 종류", Map.of("fileId", 1, "variant", "thumb"),
+                EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("countFilesByHash", "content_hash", "0".repeat(64), EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("addViewsBatch", "게시물 ID 목록",
+                ParamNameResolver.wrapToMapIfCollection(List.of(new ViewCountDTO(10, 1), new ViewCountDTO(20, 3)), null),
+                EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getPostPassword", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("updatePostPassword", "게시물 ID + 기존 해시",
+                Map.of("postId", 100, "oldPassword", "old", "newPassword", "new"), EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("updatePost", "게시물 ID",
+                new PostUpdateDTO(100, 1, "작성자", "제목", "내용", null), EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("deletePost", "게시물 ID", 100, EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("deleteFiles", "게시물 ID + 파일 ID 목록", postAndFiles(100, List.of(1, 2)),
+                EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("addAttachmentCount", "게시물 ID", Map.of("postId", 100, "delta", 1),
+                EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("repairAttachmentCounts", "게시물 ID 목록",
+                ParamNameResolver.wrapToMapIfCollection(List.of(10, 20, 30), null), EnumSet.noneOf(Allowance.class)));
+        cases.add(new PlanCase("getImportCheckpoint", "파일 경로", "/data/legacy/posts.ndjson", EnumSet.noneOf(Allowance.class)));
+        return cases;
+    }
+
+
+    private void assertPlan(PlanCase planCase) {
+        MappedStatement statement = configuration().getMappedStatement(NAMESPACE + planCase.statement());
+        BoundSql boundSql = statement.getBoundSql(planCase.parameter());
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + boundSql.getSql(),
+                parameterValues(boundSql, planCase.parameter()));
+
+        for (Map<String, Object> row : plan) {
+            String table = String.valueOf(row.get("table"));
+            String type = String.valueOf(row.get("type"));
+            String extra = String.valueOf(row.get("Extra"));
+
+            // 카테고리 테이블은 몇 행뿐이므로 전체 스캔(조인 시 buffer)이 더 싸다
+            boolean categoryTable = table.equals("c") || table.equals("category");
+            if (!categoryTable && !planCase.allowed().contains(Allowance.FULL_SCAN)) {
+                assertThat(type).as("%s (%s) 테이블 %s 전체 스캔 : %s", planCase.statement(), planCase.name(), table, plan)
+                        .isNotEqualTo("ALL");
+            }
+            if (!planCase.allowed().contains(Allowance.FILESORT)) {
+                assertThat(extra).as("%s (%s) 테이블 %s filesort : %s", planCase.statement(), planCase.name(), table, plan)
+                        .doesNotContain("Using filesort");
+            }
+        }
+    }
+
+
+    // DefaultParameterHandler 와 같은 방식으로 ? 자리의 값을 꺼냄
+    private Object[] parameterValues(BoundSql boundSql, Object parameter) {
+        Configuration configuration = configuration();
+        List<Object> values = new ArrayList<>();
+        for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            if (boundSql.hasAdditionalParameter(property)) {
+                values.add(boundSql.getAdditionalParameter(property));
+            } else if (parameter == null) {
+                values.add(null);
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                values.add(parameter);
+            } else {
+                values.add(configuration.newMetaObject(parameter).getValue(property));
+            }
+        }
+        return values.toArray();
+    }
+
+    private Configuration configuration() {
+        return sqlSessionFactory.getConfiguration();
+    }
+
+    private static PostFilterDTO filter(String startDate, String endDate, int categoryId, String keyword) {
+        PostFilterDTO filter = new PostFilterDTO();
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        filter.setCategoryId(categoryId);
+        filter.setKeyword(keyword);
+        filter.setOffset(3, 10);
+        filter.setCursor(15_000, false);
+        return filter;
+    }
+
+    private static Map<String, Object> postAndFiles(int postId, List<Integer> fileIds) {
+        Map<String, Object> parameter = new HashMap<>();
+        parameter.put("postId", postId);
+        parameter.put("fileIds", fileIds);
+        return parameter;
+    }
+
+    private static Set<Allowance> with(Set<Allowance> base, Allowance allowance) {
+        Set<Allowance> allowed = EnumSet.noneOf(Allowance.class);
+        allowed.addAll(base);
+        allowed.add(allowance);
+        return allowed;
+    }
+
+
+    /**
+     * 실행 계획에서 허용하는 항목입니다.
+     */
+    enum Allowance {
+        FULL_SCAN,
+        FILESORT
+    }
+
+    record PlanCase(String statement, String name, Object parameter, Set<Allowance> allowed) {
+    }
+
+    // 슬라이스 테스트에서는 @MapperScan 이 있는 WebConfiguration 이 로드되지 않을 수 있으므로 직접 등록
+    @TestConfiguration
+    @MapperScan("com.study.connection.dao")
+    static class MapperConfig {
+    }
+}
@@ -0,0 +1,219 @@
+package com.study.connection.filter;
+
+import com.study.connection.datasource.ReadRoutingContext;
+import com.study.connection.datasource.ReplicaStatus;
+import com.study.connection.service.ViewCountBuffer;
+import com.study.connection.service.event.PostChangedEvent;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.servlet.support.SessionFlashMapManager;
+
+import javax.sql.DataSource;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RenderedPageCacheFilterTest {
+
+    private ViewCountBuffer viewCountBuffer;
+    private RenderedPageCacheFilter filter;
+    // 실제로 렌더링된 횟수 (캐시에서 응답하면 늘지 않음)
+    private final AtomicInteger renders = new AtomicInteger();
+    private Consumer<HttpServletResponse> beforeRender = response -> {
+    };
+
+
+    @BeforeEach
+    void setUp() {
+        viewCountBuffer = mock(ViewCountBuffer.class);
+        filter = new RenderedPageCacheFilter(viewCountBuffer, new StaticListableBeanFactory().getBeanProvider(ReplicaStatus.class), 100, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadRoutingContext.clear();
+    }
+
+
+    @Test
+    void keyIncludesQueryParametersInAnyOrder() throws Exception {
+        String first = get(request("/posts", "page=1&keyword=a%26b&categoryId=2")).getContentAsString();
+        // 순서만 다른 같은 조건
+        assertThat(get(request("/posts", "categoryId=2&keyword=a%26b&page=1")).getContentAsString()).isEqualTo(first);
+        assertThat(renders).hasValue(1);
+
+        // 값이 다르면 다른 화면 (구분자가 값에 들어 있어도 섞이지 않음)
+        get(request("/posts", "page=2&keyword=a%26b&categoryId=2"));
+        get(request("/posts", "page=1&keyword=a&b=&categoryId=2"));
+        get(request("/posts", null));
+        assertThat(renders).hasValue(4);
+    }
+
+
+    @Test
+    void keyIncludesLocale() throws Exception {
+        MockHttpServletRequest korean = request("/posts", "page=1");
+        korean.addPreferredLocale(Locale.KOREAN);
+        MockHttpServletRequest english = request("/posts", "page=1");
+        english.addPreferredLocale(Locale.ENGLISH);
+
+        get(korean);
+        MockHttpServletResponse response = get(english);
+        assertThat(renders).hasValue(2);
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_LANGUAGE);
+    }
+
+
+    @Test
+    void requestsWithFlashAttributesBypassCache() throws Exception {
+        get(request("/post/1", "page=1"));
+
+        // 다른 사용자의 flash 메시지가 담긴 화면이 저장되거나, 캐시된 화면이 flash 메시지 대신 응답되지 않음
+        MockHttpServletRequest withFlash = request("/post/1", "page=1");
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionFlashMapManager.class.getName() + ".FLASH_MAPS", List.of());
+        withFlash.setSession(session);
+        MockHttpServletResponse response = get(withFlash);
+
+        assertThat(renders).hasValue(2);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        get(request("/post/1", "page=1"));
+        assertThat(renders).hasValue(2);
+    }
+
+
+    @Test
+    void responsesSettingCookiesAreNotStored() throws Exception {
+        beforeRender = response -> response.addHeader(HttpHeaders.SET_COOKIE, "JSESSIONID=abc; Path=/; HttpOnly");
+
+        get(request("/posts", "page=1"));
+        get(request("/posts", "page=1"));
+
+        assertThat(renders).hasValue(2);
+    }
+
+
+    @Test
+    void postChangeInvalidatesListsAndThatArticleOnly() throws Exception {
+        get(request("/posts", "page=1"));
+        get(request("/post/1", "page=1"));
+        get(request("/post/12", "page=1"));
+        assertThat(renders).hasValue(3);
+
+        filter.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.UPDATED, 1, 1, 1));
+
+        get(request("/posts", "page=1"));
+        get(request("/post/1", "page=1"));
+        assertThat(renders).hasValue(5);
+        // 게시물 ID 가 1 로 시작하는 다른 게시물은 그대로
+        get(request("/post/12", "page=1"));
+        assertThat(renders).hasValue(5);
+    }
+
+
+    @Test
+    void changedPagesAreNotRefilledWithinReplicaLag() throws Exception {
+        ReplicaStatus replicaStatus = new ReplicaStatus(mock(DataSource.class), Duration.ofSeconds(60), false);
+        ObjectProvider<ReplicaStatus> provider =
+                new StaticListableBeanFactory(Map.of("replicaStatus", replicaStatus)).getBeanProvider(ReplicaStatus.class);
+        filter = new RenderedPageCacheFilter(viewCountBuffer, provider, 100, 60);
+
+        get(request("/post/1", "page=1"));
+        get(request("/post/2", "page=1"));
+        filter.onPostChanged(new PostChangedEvent(PostChangedEvent.Type.UPDATED, 1, 1, 1));
+
+        // 변경 직후 (복제 DB 에서 읽었을 수 있는) 화면은 저장하지 않음
+        get(request("/post/1", "page=1"));
+        get(request("/post/1", "page=1"));
+        assertThat(renders).hasValue(4);
+        // 변경되지 않은 게시물은 그대로 캐시에서 응답
+        get(request("/post/2", "page=1"));
+        assertThat(renders).hasValue(4);
+    }
+
+
+    @Test
+    void primaryOnlyRequestsBypassCache() throws Exception {
+        get(request("/post/1", "page=1"));
+
+        // 글을 쓴 직후의 사용자는 다른 사용자가 채운 화면 대신 주 DB 에서 다시 렌더링
+        ReadRoutingContext.setPrimaryOnly();
+        get(request("/post/1", "page=1"));
+        get(request("/post/3", "page=1"));
+        assertThat(renders).hasValue(3);
+
+        // 주 DB 고정 요청의 화면은 저장하지 않음
+        ReadRoutingContext.clear();
+        get(request("/post/3", "page=1"));
+        assertThat(renders).hasValue(4);
+    }
+
+
+    @Test
+    void cachedArticleStillCountsViewAndRevalidates() throws Exception {
+        MockHttpServletResponse first = get(request("/post/7", "page=1"));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest conditional = request("/post/7", "page=1");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse notModified = get(conditional);
+
+        assertThat(notModified.getStatus()).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+        assertThat(notModified.getContentAsByteArray()).isEmpty();
+        assertThat(renders).hasValue(1);
+        verify(viewCountBuffer, times(1)).increment(7);
+    }
+
+
+    private MockHttpServletRequest request(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (query != null) {
+            request.setQueryString(query);
+            for (String pair : query.split("&")) {
+                String[] nameValue = pair.split("=", 2);
+                request.addParameter(decode(nameValue[0]), nameValue.length > 1 ? decode(nameValue[1]) : "");
+            }
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                beforeRender.accept(res);
+                res.setContentType("text/html;charset=UTF-8");
+                res.getWriter().write("<p>" + req.getRequestURI() + "?" + req.getQueryString() + " #" + renders.incrementAndGet() + "</p>");
+            }
+        }));
+        return response;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
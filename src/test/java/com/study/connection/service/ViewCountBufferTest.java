@@ -0,0 +1,176 @@
+package com.study.connection.service;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.post.ViewCountDTO;
+import com.study.connection.service.cache.PostReadCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class ViewCountBufferTest {
+
+    private PostDAO postDAO;
+    private PostReadCache postReadCache;
+    private ViewCountBuffer buffer;
+    // DB 의 조회수 (addViewsBatch 로 반영된 값)
+    private final Map<Integer, Long> dbViews = new ConcurrentHashMap<>();
+
+
+    @BeforeEach
+    void setUp() {
+        postDAO = mock(PostDAO.class);
+        postReadCache = mock(PostReadCache.class);
+        writeToDbViews();
+        buffer = new ViewCountBuffer(postDAO, postReadCache);
+    }
+
+
+    @Test
+    void flushWritesDeltasAndRemovesIdleEntries() {
+        for (int i = 0; i < 3; i++) {
+            buffer.increment(1);
+        }
+        buffer.increment(2);
+        assertThat(buffer.getPendingViews(1)).isEqualTo(3);
+
+        buffer.flush();
+        assertThat(dbViews).containsEntry(1, 3L).containsEntry(2, 1L);
+        assertThat(buffer.getPendingViews(1)).isZero();
+        verify(postReadCache).evictPostDetails(1);
+        verify(postReadCache).evictPostDetails(2);
+
+        // 증가분이 없던 게시물은 다음 주기에 정리됨
+        buffer.increment(2);
+        buffer.flush();
+        assertThat(buffer.size()).isEqualTo(1);
+        buffer.flush();
+        assertThat(buffer.size()).isZero();
+        assertThat(dbViews).containsEntry(1, 3L).containsEntry(2, 2L);
+    }
+
+
+    @Test
+    void failedFlushIsRequeued() {
+        doThrow(new IllegalStateException("DB 연결 실패")).when(postDAO).addViewsBatch(any());
+        buffer.increment(1);
+        buffer.increment(1);
+
+        buffer.flush();
+        // 반영하지 못한 증가분은 사라지지 않고 화면 조회수에도 계속 포함됨
+        assertThat(dbViews).isEmpty();
+        assertThat(buffer.getPendingViews(1)).isEqualTo(2);
+        verify(postReadCache, never()).evictPostDetails(1);
+
+        writeToDbViews();
+        buffer.increment(1);
+        buffer.flush();
+        assertThat(dbViews).containsEntry(1, 3L);
+        assertThat(buffer.getPendingViews(1)).isZero();
+    }
+
+
+    @Test
+    void readsDuringFlushNeverLoseIncrements() throws Exception {
+        for (int i = 1; i <= 20_000; i++) {
+            buffer.increment(1);
+            if (i % 1000 == 0) {
+                // 반영하는 동안 계속 읽어도 DB 값 + 반영되지 않은 증가분이 지금까지의 증가 횟수보다 작아지지 않아야 함
+                CompletableFuture<Void> flushing = CompletableFuture.runAsync(buffer::flush);
+                do {
+                    assertThat(buffer.readWithPendingViews(pendingViews -> dbViews.getOrDefault(1, 0L) + pendingViews.get(1)))
+                            .isGreaterThanOrEqualTo(i);
+                } while (!flushing.isDone());
+                flushing.get(10, TimeUnit.SECONDS);
+                // 반영이 끝난 뒤에 시작한 읽기는 정확함
+                assertThat(buffer.readWithPendingViews(pendingViews -> dbViews.getOrDefault(1, 0L) + pendingViews.get(1)))
+                        .isEqualTo(i);
+            }
+        }
+        assertThat(dbViews).containsEntry(1, 20_000L);
+    }
+
+
+    @Test
+    void readsDoNotWaitForSlowUpdate() throws Exception {
+        CountDownLatch updating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            updating.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            List<ViewCountDTO> batch = invocation.getArgument(0);
+            batch.forEach(dto -> dbViews.merge(dto.getPostId(), dto.getDelta(), Long::sum));
+            return null;
+        }).when(postDAO).addViewsBatch(any());
+        buffer.increment(1);
+        buffer.increment(1);
+
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(buffer::flush);
+        try {
+            assertThat(updating.await(10, TimeUnit.SECONDS)).isTrue();
+            // UPDATE 가 끝나지 않아도 읽기는 기다리지 않고 반영 중인 증가분을 더함
+            long views = CompletableFuture.supplyAsync(() -> buffer.readWithPendingViews(
+                            pendingViews -> dbViews.getOrDefault(1, 0L) + pendingViews.get(1)))
+                    .get(1, TimeUnit.SECONDS);
+            assertThat(views).isEqualTo(2);
+        } finally {
+            release.countDown();
+        }
+        flushing.get(10, TimeUnit.SECONDS);
+        assertThat(buffer.getPendingViews(1)).isZero();
+        assertThat(dbViews).containsEntry(1, 2L);
+    }
+
+
+    @Test
+    void incrementsDuringIdleCleanupAreNotLost() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            writers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    buffer.increment(1);
+                }
+            }));
+        }
+        start.countDown();
+        // 증가분이 없는 항목을 지우는 반영 주기와 증가가 겹치도록 계속 반영
+        while (!writers.stream().allMatch(CompletableFuture::isDone)) {
+            buffer.flush();
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        buffer.flush();
+
+        assertThat(dbViews).containsEntry(1, (long) threads * perThread);
+    }
+
+
+    private void writeToDbViews() {
+        doAnswer(invocation -> {
+            List<ViewCountDTO> batch = invocation.getArgument(0);
+            batch.forEach(dto -> dbViews.merge(dto.getPostId(), dto.getDelta(), Long::sum));
+            return null;
+        }).when(postDAO).addViewsBatch(any());
+    }
+}
@@ -0,0 +1,137 @@
+package com.study.connection.service.concurrent;
+
+import com.study.connection.datasource.ReadRoutingContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FanOutScopeTest {
+
+    private PageFanOut pageFanOut;
+
+
+    @AfterEach
+    void tearDown() {
+        ReadRoutingContext.clear();
+        if (pageFanOut != null) {
+            pageFanOut.shutdown();
+        }
+    }
+
+
+    @Test
+    void failureCancelsOtherTasks() throws Exception {
+        pageFanOut = new PageFanOut(4, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = pageFanOut.open()) {
+            scope.fork(() -> blockUntilInterrupted(started, interrupted));
+            scope.fork(() -> {
+                started.await();
+                throw new IllegalStateException("조회 실패");
+            });
+
+            assertThatThrownBy(scope::join).isInstanceOf(IllegalStateException.class).hasMessage("조회 실패");
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+
+    @Test
+    void timeoutCancelsRemainingTasks() throws Exception {
+        pageFanOut = new PageFanOut(4, 100);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = pageFanOut.open()) {
+            scope.fork(() -> blockUntilInterrupted(started, interrupted));
+
+            assertThatThrownBy(scope::join).isInstanceOf(CompletionException.class)
+                    .hasCauseInstanceOf(TimeoutException.class);
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+
+    @Test
+    void closeCancelsUnfinishedTasks() throws Exception {
+        pageFanOut = new PageFanOut(4, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (FanOutScope scope = pageFanOut.open()) {
+            scope.fork(() -> blockUntilInterrupted(started, interrupted));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+
+    @Test
+    void primaryOnlyIsPropagatedAndNotLeftOnWorker() {
+        pageFanOut = new PageFanOut(1, 5000);
+
+        ReadRoutingContext.setPrimaryOnly();
+        try (FanOutScope scope = pageFanOut.open()) {
+            Supplier<Boolean> primaryOnly = scope.fork(ReadRoutingContext::isPrimaryOnly);
+            scope.join();
+            assertThat(primaryOnly.get()).isTrue();
+        }
+
+        // 같은 작업 스레드를 다시 사용해도 이전 요청의 상태가 남지 않음
+        ReadRoutingContext.clear();
+        try (FanOutScope scope = pageFanOut.open()) {
+            Supplier<Boolean> primaryOnly = scope.fork(ReadRoutingContext::isPrimaryOnly);
+            scope.join();
+            assertThat(primaryOnly.get()).isFalse();
+        }
+    }
+
+
+    @Test
+    void runsInRequestThreadWhenWorkersAreBusy() throws Exception {
+        pageFanOut = new PageFanOut(1, 5000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ReadRoutingContext.setPrimaryOnly();
+        try (FanOutScope scope = pageFanOut.open()) {
+            Supplier<String> first = scope.fork(() -> {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return Thread.currentThread().getName();
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 유일한 작업 스레드가 사용 중이므로 요청 스레드에서 실행
+            Supplier<String> second = scope.fork(() -> Thread.currentThread().getName());
+            release.countDown();
+            scope.join();
+
+            assertThat(first.get()).startsWith("page-fan-out-");
+            assertThat(second.get()).isEqualTo(Thread.currentThread().getName());
+        }
+        // 요청 스레드에서 실행한 작업이 요청 스레드의 상태를 지우지 않음
+        assertThat(ReadRoutingContext.isPrimaryOnly()).isTrue();
+    }
+
+
+    private static Void blockUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,157 @@
+package com.study.connection.service.file;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.file.StoredFileDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttachmentStorageTest {
+
+    private static final byte[] CONTENT = "첨부파일 내용".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path uploadDir;
+
+    private PostDAO postDAO;
+    private AttachmentStorage storage;
+
+
+    @BeforeEach
+    void setUp() {
+        postDAO = mock(PostDAO.class);
+        storage = new AttachmentStorage(postDAO, uploadDir.toString(), 60);
+    }
+
+
+    @Test
+    void sameContentIsStoredOnce() throws IOException {
+        StoredFileDTO first = storage.store(new ByteArrayInputStream(CONTENT));
+        StoredFileDTO second = storage.store(new ByteArrayInputStream(CONTENT));
+        StoredFileDTO other = storage.store(new ByteArrayInputStream("다른 내용".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(first.getContentHash()).isEqualTo(sha256(CONTENT));
+        assertThat(first.getFileSize()).isEqualTo(CONTENT.length);
+        assertThat(first.isDeduplicated()).isFalse();
+        assertThat(second.isDeduplicated()).isTrue();
+        assertThat(second.getFilePath()).isEqualTo(first.getFilePath());
+        assertThat(other.getFilePath()).isNotEqualTo(first.getFilePath());
+
+        assertThat(Files.readAllBytes(Path.of(first.getFilePath()))).isEqualTo(CONTENT);
+        assertThat(countFiles("objects")).isEqualTo(2);
+        // 임시 파일은 남지 않음
+        assertThat(countFiles("tmp")).isZero();
+    }
+
+
+    @Test
+    void completedUploadReusesExistingObject() throws IOException {
+        StoredFileDTO stored = storage.store(new ByteArrayInputStream(CONTENT));
+        Path source = Files.write(uploadDir.resolve("session.part"), CONTENT);
+
+        StoredFileDTO completed = storage.storeCompleted(source, sha256(CONTENT));
+
+        assertThat(completed.isDeduplicated()).isTrue();
+        assertThat(completed.getFilePath()).isEqualTo(stored.getFilePath());
+        assertThat(source).doesNotExist();
+        assertThat(countFiles("objects")).isEqualTo(1);
+    }
+
+
+    @Test
+    void fileIsDeletedOnlyWhenLastReferenceIsReleased() throws IOException {
+        StoredFileDTO stored = storage.store(new ByteArrayInputStream(CONTENT));
+        Path object = Path.of(stored.getFilePath());
+        makeOld(object);
+
+        // 다른 첨부파일이 같은 내용을 참조하고 있으면 유지
+        when(postDAO.countFilesByHash(stored.getContentHash())).thenReturn(1);
+        storage.release(stored.getFilePath(), stored.getContentHash());
+        assertThat(object).exists();
+
+        when(postDAO.countFilesByHash(stored.getContentHash())).thenReturn(0);
+        storage.release(stored.getFilePath(), stored.getContentHash());
+        assertThat(object).doesNotExist();
+    }
+
+
+    @Test
+    void recentlyStoredFileIsLeftForSweep() throws IOException {
+        when(postDAO.countFilesByHash(anyString())).thenReturn(0);
+        StoredFileDTO stored = storage.store(new ByteArrayInputStream(CONTENT));
+        Path object = Path.of(stored.getFilePath());
+
+        // 메타데이터가 아직 커밋되지 않았을 수 있으므로 유예 기간 안에는 지우지 않음
+        storage.release(stored.getFilePath(), stored.getContentHash());
+        storage.sweepOrphans();
+        assertThat(object).exists();
+
+        makeOld(object);
+        storage.sweepOrphans();
+        assertThat(object).doesNotExist();
+    }
+
+
+    @Test
+    void reuseRestartsGracePeriod() throws IOException {
+        when(postDAO.countFilesByHash(anyString())).thenReturn(0);
+        StoredFileDTO stored = storage.store(new ByteArrayInputStream(CONTENT));
+        Path object = Path.of(stored.getFilePath());
+        makeOld(object);
+
+        // 같은 내용이 다시 업로드되면 메타데이터가 커밋되기 전에 정리 작업이 지우지 않아야 함
+        storage.store(new ByteArrayInputStream(CONTENT));
+        storage.sweepOrphans();
+        assertThat(object).exists();
+    }
+
+
+    @Test
+    void legacyFileWithoutHashIsDeletedImmediately() throws IOException {
+        Path legacy = Files.write(uploadDir.resolve("legacy.txt"), CONTENT);
+
+        storage.release(legacy.toString(), null);
+
+        assertThat(legacy).doesNotExist();
+    }
+
+
+    private long countFiles(String dir) throws IOException {
+        Path root = uploadDir.resolve(dir);
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static void makeOld(Path path) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
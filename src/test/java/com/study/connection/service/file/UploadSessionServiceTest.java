@@ -0,0 +1,203 @@
+package com.study.connection.service.file;
+
+import com.study.connection.dto.file.StoredFileDTO;
+import com.study.connection.dto.file.UploadSessionDTO;
+import com.study.connection.handler.exception.InvalidUploadException;
+import com.study.connection.handler.exception.UploadSessionNotFoundException;
+import com.study.connection.service.file.UploadSessionService.CompletedUpload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadSessionServiceTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    @TempDir
+    Path uploadDir;
+
+    private AttachmentStorage attachmentStorage;
+    private UploadSessionService service;
+    private byte[] content;
+
+
+    @BeforeEach
+    void setUp() throws IOException {
+        attachmentStorage = mock(AttachmentStorage.class);
+        when(attachmentStorage.storeCompleted(any(), any())).thenAnswer(invocation -> {
+            Path source = invocation.getArgument(0);
+            return new StoredFileDTO("objects/stored", Files.size(source), invocation.getArgument(1), false);
+        });
+        service = newService(2, 0);
+        // 마지막 조각은 조각 크기보다 작음
+        content = new byte[CHUNK_SIZE * 2 + 100];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+    }
+
+
+    @Test
+    void rejectsInvalidChunks() throws IOException {
+        String uploadId = service.create("a.bin", null, content.length, null).getUploadId();
+
+        assertThatThrownBy(() -> put(uploadId, 3, chunk(0))).isInstanceOf(InvalidUploadException.class);
+        assertThatThrownBy(() -> put(uploadId, -1, chunk(0))).isInstanceOf(InvalidUploadException.class);
+        // 크기가 모자라거나 넘치는 조각
+        assertThatThrownBy(() -> put(uploadId, 2, chunk(0))).isInstanceOf(InvalidUploadException.class);
+        assertThatThrownBy(() -> put(uploadId, 0, Arrays.copyOf(chunk(0), CHUNK_SIZE - 1)))
+                .isInstanceOf(InvalidUploadException.class);
+        // SHA-256 이 다른 조각
+        assertThatThrownBy(() -> service.writeChunk(uploadId, 0, sha256(chunk(1)), new ByteArrayInputStream(chunk(0))))
+                .isInstanceOf(InvalidUploadException.class);
+        assertThatThrownBy(() -> put("unknown", 0, chunk(0))).isInstanceOf(UploadSessionNotFoundException.class);
+
+        assertThat(service.getStatus(uploadId).getReceivedChunks()).isEmpty();
+    }
+
+
+    @Test
+    void resumesWithMissingChunksAndCompletes() throws IOException {
+        UploadSessionDTO created = service.create("a.bin", "application/octet-stream", content.length, sha256(content));
+        String uploadId = created.getUploadId();
+        assertThat(created.getChunkCount()).isEqualTo(3);
+
+        put(uploadId, 2, chunk(2));
+        put(uploadId, 0, chunk(0));
+        assertThatThrownBy(() -> service.complete(uploadId)).isInstanceOf(InvalidUploadException.class);
+
+        // 연결이 끊긴 뒤 받은 조각 목록을 확인하고 나머지만 보냄
+        assertThat(service.getStatus(uploadId).getReceivedChunks()).containsExactly(0, 2);
+        put(uploadId, 1, chunk(1));
+
+        CompletedUpload upload = service.complete(uploadId);
+        assertThat(upload.fileName()).isEqualTo("a.bin");
+        assertThat(upload.stored().getFileSize()).isEqualTo(content.length);
+        verify(attachmentStorage).storeCompleted(any(), eq(sha256(content)));
+        assertThatThrownBy(() -> service.getStatus(uploadId)).isInstanceOf(UploadSessionNotFoundException.class);
+    }
+
+
+    @Test
+    void rejectsFileThatDoesNotMatchDeclaredChecksum() throws IOException {
+        byte[] other = content.clone();
+        other[0]++;
+        String uploadId = service.create("a.bin", null, content.length, sha256(other)).getUploadId();
+        for (int i = 0; i < 3; i++) {
+            put(uploadId, i, chunk(i));
+        }
+
+        assertThatThrownBy(() -> service.complete(uploadId)).isInstanceOf(InvalidUploadException.class);
+        verify(attachmentStorage, never()).storeCompleted(any(), any());
+        assertThatThrownBy(() -> service.getStatus(uploadId)).isInstanceOf(UploadSessionNotFoundException.class);
+        assertThatThrownBy(() -> service.create("a.bin", null, content.length, "not-a-sha256"))
+                .isInstanceOf(InvalidUploadException.class);
+    }
+
+
+    @Test
+    void rejectsSameChunkWhileItIsBeingWritten() throws Exception {
+        String uploadId = service.create("a.bin", null, content.length, null).getUploadId();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] first = chunk(0);
+        // 절반을 보낸 뒤 멈춰 있는 요청
+        InputStream slow = new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                if (position == first.length / 2) {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return position < first.length ? first[position++] & 0xff : -1;
+            }
+        };
+        CompletableFuture<Void> writing = CompletableFuture.runAsync(() -> {
+            try {
+                service.writeChunk(uploadId, 0, sha256(first), slow);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> put(uploadId, 0, chunk(0))).isInstanceOf(InvalidUploadException.class);
+        // 다른 조각은 동시에 받을 수 있음
+        put(uploadId, 1, chunk(1));
+
+        release.countDown();
+        writing.get(10, TimeUnit.SECONDS);
+        assertThat(service.getStatus(uploadId).getReceivedChunks()).containsExactly(0, 1);
+    }
+
+
+    @Test
+    void emptySessionsAreExpiredWhenSessionLimitIsReached() throws Exception {
+        String first = service.create("a.bin", null, content.length, null).getUploadId();
+        String second = service.create("b.bin", null, content.length, null).getUploadId();
+        put(second, 0, chunk(0));
+        // 비어 있는 세션의 제한 시간(0분)이 지나도록 기다림
+        Thread.sleep(10);
+
+        // 조각을 받지 않은 세션만 정리되어 새 세션을 만들 수 있음
+        String third = service.create("c.bin", null, content.length, null).getUploadId();
+        assertThatThrownBy(() -> service.getStatus(first)).isInstanceOf(UploadSessionNotFoundException.class);
+        assertThat(service.getStatus(second).getReceivedChunks()).containsExactly(0);
+
+        // 조각을 받은 세션은 정리되지 않으므로 제한을 넘음
+        put(third, 0, chunk(0));
+        assertThatThrownBy(() -> service.create("d.bin", null, content.length, null))
+                .isInstanceOf(InvalidUploadException.class);
+    }
+
+
+    private UploadSessionService newService(int maxSessions, long emptySessionTtlMinutes) {
+        return new UploadSessionService(attachmentStorage, uploadDir.toString(), CHUNK_SIZE, 1024 * 1024,
+                maxSessions, 60, emptySessionTtlMinutes);
+    }
+
+    private void put(String uploadId, int index, byte[] bytes) throws IOException {
+        service.writeChunk(uploadId, index, sha256(bytes), new ByteArrayInputStream(bytes));
+    }
+
+    private byte[] chunk(int index) {
+        int from = index * CHUNK_SIZE;
+        return Arrays.copyOfRange(content, from, Math.min(from + CHUNK_SIZE, content.length));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.study.connection.service.importer;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.service.importer.BulkImportService.ImportResult;
+import com.study.connection.service.password.PasswordHasher;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 첨부파일이 있는 NDJSON 을 가져오다 중단된 뒤 다시 실행했을 때, 저장한 묶음 다음부터 이어서 가져오고
+ * 게시물과 첨부파일이 중복되거나 빠지지 않는지 확인합니다.
+ * · 중단은 특정 줄의 비밀번호를 해시하는 중 예외가 나는 것으로 재현합니다. (준비 단계에서 프로세스가 죽은 것과 같음)
+ * · 테스트 시간을 줄이려고 해시는 고정 값을 반환하도록 바꿉니다.
+ */
+@SpringBootTest(properties = {
+        "board.import.batch-size=10",
+        "board.import.threads=2",
+        "spring.main.web-application-type=none"})
+@Testcontainers
+@Tag("docker")
+class BulkImportServiceTest {
+
+    private static final int LINES = 50;
+    private static final int KILLED_LINE = 25;
+    // JSON 이 아닌 줄과 null 줄은 건너뜀
+    private static final List<Integer> INVALID_LINES = List.of(3, 7);
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuuFG7ZqUDPmK0XfNQbq1tYu0LG8kSFeMe";
+    private static final Path WORK_DIR = createWorkDir();
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private PostDAO postDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private PasswordHasher passwordHasher;
+
+    private volatile boolean killSwitch = true;
+
+
+    // DataSourceConfiguration 이 spring.datasource.* 로 연결하므로 @ServiceConnection 대신 속성으로 지정
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("board.upload.dir", () -> WORK_DIR.resolve("upload") + "/");
+    }
+
+
+    @Test
+    void resumesAfterInterruptedImportWithoutDuplicates() throws IOException {
+        Path attachmentDir = WORK_DIR.resolve("legacy");
+        Path source = writeFixture(attachmentDir);
+        doAnswer(invocation -> {
+            if (killSwitch && ("pw-" + KILLED_LINE).equals(invocation.getArgument(0))) {
+                throw new IllegalStateException("가져오기 중단");
+            }
+            return HASH;
+        }).when(passwordHasher).hashInCurrentThread(anyString());
+
+        // 1차 : 중단된 줄이 속한 묶음 전까지만 저장됨
+        assertThatThrownBy(() -> bulkImportService.importPosts(source, attachmentDir)).isInstanceOf(IOException.class);
+
+        Long checkpoint = postDAO.getImportCheckpoint(source.toAbsolutePath().normalize().toString());
+        assertThat(checkpoint).isNotNull().isLessThan(KILLED_LINE);
+        assertThat(countPosts()).isEqualTo(validLinesUpTo(checkpoint));
+        assertThat(countFiles()).isEqualTo(attachmentsUpTo(checkpoint));
+
+        // 2차 : 같은 명령으로 다시 실행하면 이어서 가져옴
+        killSwitch = false;
+        ImportResult result = bulkImportService.importPosts(source, attachmentDir);
+
+        assertThat(result.imported()).isEqualTo(validLinesUpTo(LINES) - validLinesUpTo(checkpoint));
+        assertThat(result.skipped()).isEqualTo(INVALID_LINES.stream().filter(line -> line > checkpoint).count());
+        assertThat(postDAO.getImportCheckpoint(source.toAbsolutePath().normalize().toString())).isEqualTo(LINES);
+
+        assertThat(countPosts()).isEqualTo(validLinesUpTo(LINES));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT title) FROM post", Long.class))
+                .isEqualTo(validLinesUpTo(LINES));
+        assertThat(countFiles()).isEqualTo(attachmentsUpTo(LINES));
+        // 첨부파일은 게시물 ID 에 맞게 연결되고, 게시물의 첨부파일 수와 일치해야 함
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM file f JOIN post p ON p.post_id = f.post_id
+                WHERE f.file_name <> CONCAT('a-', SUBSTRING_INDEX(p.title, ' ', -1), '.txt')
+                """, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM post p
+                WHERE p.attachment_count <> (SELECT COUNT(*) FROM file f WHERE f.post_id = p.post_id)
+                """, Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT password FROM post", String.class)).containsExactly(HASH);
+    }
+
+
+    // 줄 번호 i 의 게시물은 짝수 번째 줄에만 첨부파일 a-i.txt 를 가짐
+    private static Path writeFixture(Path attachmentDir) throws IOException {
+        Files.createDirectories(attachmentDir.resolve("files"));
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= LINES; i++) {
+            if (i == INVALID_LINES.get(0)) {
+                lines.add("null");
+                continue;
+            }
+            if (i == INVALID_LINES.get(1)) {
+                lines.add("{\"categoryId\": 1, \"title\": ");
+                continue;
+            }
+            String attachments = "[]";
+            if (i % 2 == 0) {
+                Files.writeString(attachmentDir.resolve("files/a-" + i + ".txt"), "첨부 " + i);
+                attachments = "[{\"path\": \"files/a-" + i + ".txt\", \"contentType\": \"text/plain\"}]";
+            }
+            lines.add("{\"categoryId\": 1, \"title\": \"가져온 글 " + i + "\", \"content\": \"내용\", "
+                    + "\"writer\": \"작성자\", \"password\": \"pw-" + i + "\", \"createdAt\": \"2020-01-01 00:00:00\", "
+                    + "\"attachments\": " + attachments + "}");
+        }
+        Path source = attachmentDir.resolve("posts.ndjson");
+        Files.write(source, lines, StandardCharsets.UTF_8);
+        return source;
+    }
+
+
+    private static long validLinesUpTo(long lineNo) {
+        return lineNo - INVALID_LINES.stream().filter(line -> line <= lineNo).count();
+    }
+
+    private static long attachmentsUpTo(long lineNo) {
+        return lineNo / 2 - INVALID_LINES.stream().filter(line -> line <= lineNo && line % 2 == 0).count();
+    }
+
+    private long countPosts() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post", Long.class);
+    }
+
+    private long countFiles() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM file", Long.class);
+    }
+
+    private static Path createWorkDir() {
+        try {
+            return Files.createTempDirectory("bulk-import-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
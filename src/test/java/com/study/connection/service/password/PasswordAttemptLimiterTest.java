@@ -0,0 +1,112 @@
+package com.study.connection.service.password;
+
+import com.study.connection.handler.exception.TooManyPasswordAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordAttemptLimiterTest {
+
+    private static final int MAX_FAILURES = 5;
+
+
+    @Test
+    void concurrentAttemptsNeverExceedLimit() throws Exception {
+        PasswordAttemptLimiter limiter = limiter(300, 100);
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        limiter.acquire(1);
+                        return true;
+                    } catch (TooManyPasswordAttemptsException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    allowed++;
+                }
+            }
+            assertThat(allowed).isEqualTo(MAX_FAILURES);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    void failedAttemptsStayCountedUntilSuccess() {
+        PasswordAttemptLimiter limiter = limiter(300, 100);
+        for (int i = 0; i < MAX_FAILURES; i++) {
+            limiter.acquire(1);
+        }
+        assertThatThrownBy(() -> limiter.acquire(1)).isInstanceOf(TooManyPasswordAttemptsException.class);
+        // 다른 게시물에는 영향 없음
+        limiter.acquire(2);
+
+        limiter.reset(1);
+        limiter.acquire(1);
+    }
+
+
+    @Test
+    void releasedAttemptsDoNotCountAndLeaveNoEntry() {
+        PasswordAttemptLimiter limiter = limiter(300, 100);
+        // 없는 게시물을 훑어보는 요청은 기록을 남기지 않음
+        for (int postId = 1; postId <= 1000; postId++) {
+            limiter.acquire(postId);
+            limiter.release(postId);
+        }
+        assertThat(limiter.size()).isZero();
+
+        for (int i = 0; i < MAX_FAILURES * 3; i++) {
+            limiter.acquire(1);
+            limiter.release(1);
+        }
+        limiter.acquire(1);
+    }
+
+
+    @Test
+    void attemptsExpireAfterWindow() {
+        PasswordAttemptLimiter limiter = limiter(0, 100);
+        for (int i = 0; i < MAX_FAILURES * 3; i++) {
+            limiter.acquire(1);
+        }
+    }
+
+
+    @Test
+    void trackedPostsAreBounded() {
+        PasswordAttemptLimiter limiter = limiter(300, 10);
+        for (int postId = 1; postId <= 100; postId++) {
+            limiter.acquire(postId);
+        }
+        assertThat(limiter.size()).isLessThanOrEqualTo(10);
+    }
+
+
+    private static PasswordAttemptLimiter limiter(long windowSeconds, int maxSize) {
+        return new PasswordAttemptLimiter(new SimpleMeterRegistry(), MAX_FAILURES, windowSeconds, maxSize);
+    }
+}
@@ -0,0 +1,42 @@
+package com.study.connection.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NGramTokenizerTest {
+
+    @Test
+    void indexTokensAreUnigramsAndBigramsPerWord() {
+        assertThat(NGramTokenizer.indexTokens("게시판 검색"))
+                .containsExactly("게", "게시", "시", "시판", "판", "검", "검색", "색");
+        // 단어 사이(공백)를 넘는 bigram 은 만들지 않음
+        assertThat(NGramTokenizer.indexTokens("게시판 검색")).doesNotContain("판검", "판 ");
+    }
+
+
+    @Test
+    void queryTokensUseBigramsUnlessWordIsOneCharacter() {
+        assertThat(NGramTokenizer.queryTokens("게시판 검")).containsExactly("게시", "시판", "검");
+        assertThat(NGramTokenizer.queryTokens("  ")).isEmpty();
+        assertThat(NGramTokenizer.queryTokens(null)).isEmpty();
+    }
+
+
+    @Test
+    void normalizesCaseAndFullWidthCharacters() {
+        assertThat(NGramTokenizer.normalize("ＪＡＶＡ Spring")).isEqualTo("java spring");
+        assertThat(NGramTokenizer.normalize(null)).isEmpty();
+        assertThat(NGramTokenizer.indexTokens("ＪａＶａ")).isEqualTo(NGramTokenizer.indexTokens("java"));
+    }
+
+
+    @Test
+    void everyQueryTokenOfSubstringIsIndexed() {
+        // 본문에 검색어가 그대로 들어 있으면 검색어의 모든 토큰이 본문의 토큰에 포함됨 (색인 후보에서 빠지지 않음)
+        String text = "스프링 부트로 만든 게시판에서 검색 기능을 개선합니다";
+        for (String keyword : new String[]{"부트로 만", "판에서", "검색 기", "든 게", "다"}) {
+            assertThat(NGramTokenizer.indexTokens(text)).containsAll(NGramTokenizer.queryTokens(keyword));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.study.connection.service.search;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.post.PostIndexDTO;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class PostSearchIndexTest {
+
+    private PostDAO postDAO;
+    private PostSearchIndex searchIndex;
+    private final List<PostIndexDTO> rows = new ArrayList<>();
+    // 스캔 중 해당 행을 읽은 직후 실행할 작업 (색인 생성 중 등록/수정 재현)
+    private Runnable duringScan = () -> {
+    };
+
+
+    @BeforeEach
+    void setUp() {
+        postDAO = mock(PostDAO.class);
+        doAnswer(invocation -> {
+            ResultHandler<PostIndexDTO> handler = invocation.getArgument(0);
+            DefaultResultContext<PostIndexDTO> context = new DefaultResultContext<>();
+            for (PostIndexDTO row : List.copyOf(rows)) {
+                context.nextResultObject(row);
+                handler.handleResult(context);
+                duringScan.run();
+            }
+            return null;
+        }).when(postDAO).scanPostsForIndex(any());
+        searchIndex = new PostSearchIndex(postDAO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.shutdown();
+    }
+
+
+    @Test
+    void matchesKeywordAsPhraseLikeSqlLike() {
+        rows.add(post(1, "게시판 검색", "2024-01-01"));
+        rows.add(post(2, "검색 게시판", "2024-01-01"));
+        rows.add(post(3, "게시판검색", "2024-01-01"));
+        searchIndex.rebuild();
+
+        // 토큰은 모두 같지만 LIKE '%게시판 검색%' 에 맞는 글은 1번뿐
+        assertThat(search("게시판 검색")).containsExactly(1);
+        assertThat(search("판 검")).containsExactly(1);
+        assertThat(search("게시판")).containsExactly(3, 2, 1);
+    }
+
+
+    @Test
+    void putIndexesPostsNotYetInIndex() {
+        searchIndex.rebuild();
+        // 색인에 없던 게시물의 수정도 반영
+        searchIndex.put(post(7, "수정된 제목", "2024-03-01"));
+
+        assertThat(search("수정된")).containsExactly(7);
+        assertThat(searchIndex.search(filter("수정된", "2024-03-01", "2024-03-01")).getTotalCount()).isEqualTo(1);
+        assertThat(searchIndex.search(filter("수정된", "2024-02-01", "2024-02-28")).getTotalCount()).isZero();
+    }
+
+
+    @Test
+    void changesDuringRebuildSurviveTheSwap() {
+        rows.add(post(1, "처음 제목", "2024-01-01"));
+        rows.add(post(2, "삭제될 글", "2024-01-01"));
+        duringScan = () -> {
+            duringScan = () -> {
+            };
+            // 스캔이 1번을 읽은 뒤 1번 수정, 새 글 등록, 2번 삭제
+            searchIndex.put(post(1, "바뀐 제목", "2024-01-01"));
+            searchIndex.put(post(3, "새 글 제목", "2024-01-02"));
+            searchIndex.remove(2);
+        };
+        searchIndex.rebuild();
+
+        assertThat(search("제목")).containsExactly(3, 1);
+        assertThat(search("처음")).isEmpty();
+        assertThat(search("삭제될")).isEmpty();
+        assertThat(searchIndex.size()).isEqualTo(2);
+    }
+
+
+    @Test
+    void removeDropsPostFromIndex() {
+        rows.add(post(1, "지울 글", "2024-01-01"));
+        searchIndex.rebuild();
+        searchIndex.remove(1);
+
+        assertThat(search("지울")).isEmpty();
+        assertThat(searchIndex.size()).isZero();
+    }
+
+
+    private List<Integer> search(String keyword) {
+        return searchIndex.search(filter(keyword, null, null)).getPostIds();
+    }
+
+    private static PostFilterDTO filter(String keyword, String startDate, String endDate) {
+        PostFilterDTO filter = new PostFilterDTO();
+        filter.setKeyword(keyword);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        return filter;
+    }
+
+    private static PostIndexDTO post(int postId, String title, String createdDate) {
+        return new PostIndexDTO(postId, 1, title, "작성자", "내용", createdDate);
+    }
+}
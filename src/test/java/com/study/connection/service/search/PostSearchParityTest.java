@@ -0,0 +1,119 @@
+package com.study.connection.service.search;
+
+import com.study.connection.dao.PostDAO;
+import com.study.connection.dto.filter.PostFilterDTO;
+import com.study.connection.dto.filter.SearchResultDTO;
+import com.study.connection.dto.post.PostListDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mybatis.spring.annotation.MapperScan;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 검색 색인의 결과가 목록 화면의 SQL 검색(LIKE '%검색어%')과 같은지 확인합니다.
+ * 같은 게시물에 대해 건수(countAllPosts)와 첫 페이지(getFilteredPosts)를 비교합니다.
+ */
+@MybatisTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Tag("docker")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PostSearchParityTest.MapperConfig.class)
+class PostSearchParityTest {
+
+    private static final String[] TITLES = {
+            "게시판 검색 기능", "검색 게시판", "게시판검색", "Spring Boot 게시판", "ＳＰＲＩＮＧ 전각 제목",
+            "자바 스프링 부트", "스프링과 자바", "데이터베이스 인덱스 설계", "인덱스 없는 검색", "검색어  두 칸 띄움"};
+    private static final String[] WRITERS = {"홍길동", "김철수", "spring", "관리자"};
+    private static final String[] CONTENTS = {
+            "게시판에서 글을 검색합니다", "MySQL 의 LIKE 검색은 전체를 읽습니다", "n-gram 색인으로 부분 일치를 찾습니다",
+            "내용 없음", "스프링 부트로 만든 게시판"};
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+            .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+
+    @Autowired
+    private PostDAO postDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private PostSearchIndex searchIndex;
+
+
+    @BeforeEach
+    void setUp() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post", Integer.class);
+        if (count == null || count == 0) {
+            for (int i = 0; i < 60; i++) {
+                jdbcTemplate.update("""
+                                INSERT INTO post (category_id, title, content, writer, password, created_at)
+                                VALUES (?, ?, ?, ?, 'pw', '2024-01-01 00:00:00' + INTERVAL ? DAY)""",
+                        1 + i % 3, TITLES[i % TITLES.length], CONTENTS[i % CONTENTS.length], WRITERS[i % WRITERS.length], i);
+            }
+        }
+        searchIndex = new PostSearchIndex(postDAO);
+        searchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.shutdown();
+    }
+
+
+    @ParameterizedTest
+    @ValueSource(strings = {"게시판", "게시판 검색", "검색 게시판", "판 검", "spring", "SPRING", "스프링", "스프링 부트",
+            "부트 스프링", "검색", "색", "인덱스 설계", "두 칸", "검색어  두", "길동", "like 검색", "없는말"})
+    void indexMatchesSqlLike(String keyword) {
+        assertParity(filter(keyword, 0, null, null));
+        assertParity(filter(keyword, 2, null, null));
+        assertParity(filter(keyword, 0, "2024-01-10", "2024-02-10"));
+    }
+
+
+    private void assertParity(PostFilterDTO filter) {
+        SearchResultDTO result = searchIndex.search(filter);
+        List<Integer> sqlPage = postDAO.getFilteredPosts(filter).stream().map(PostListDTO::getPostId).toList();
+
+        assertThat(result.getTotalCount()).as("건수 : %s", filter.getKeyword()).isEqualTo(postDAO.countAllPosts(filter));
+        assertThat(result.getPostIds()).as("첫 페이지 : %s", filter.getKeyword()).isEqualTo(sqlPage);
+    }
+
+    private static PostFilterDTO filter(String keyword, int categoryId, String startDate, String endDate) {
+        PostFilterDTO filter = new PostFilterDTO();
+        filter.setKeyword(keyword);
+        filter.setCategoryId(categoryId);
+        filter.setStartDate(startDate);
+        filter.setEndDate(endDate);
+        filter.setOffset(1, 10);
+        return filter;
+    }
+
+
+    // 슬라이스 테스트에서는 @MapperScan 이 있는 WebConfiguration 이 로드되지 않을 수 있으므로 직접 등록
+    @TestConfiguration
+    @MapperScan("com.study.connection.dao")
+    static class MapperConfig {
+    }
+}